@@ -1,8 +1,31 @@
+import adapters.CommandJournal.CommandJournal;
 import controllers.GameEngine.GameEngine;
 
+import java.io.File;
+import java.io.IOException;
+
 public class Main {
+    /**
+     * Starts a game. With a journal file as argument, the commands of the game are recorded in it,
+     * and a game already recorded there is recovered first.
+     *
+     * @param args The optional journal file.
+     */
     public static void main(String[] args) {
         GameEngine gameEngine = new GameEngine();
+        if (args.length > 0) {
+            File l_journalFile = new File(args[0]);
+            try {
+                if (l_journalFile.length() > 0) {
+                    gameEngine = GameEngine.recover(l_journalFile);
+                    System.out.println("Recovered the game recorded in " + l_journalFile + ".");
+                } else {
+                    gameEngine.startJournal(new CommandJournal(l_journalFile, CommandJournal.DEFAULT_SYNC_INTERVAL));
+                }
+            } catch (IOException e) {
+                System.out.println("The journal " + l_journalFile + " could not be used: " + e.getMessage());
+            }
+        }
         gameEngine.startGame();
 
     }
@@ -0,0 +1,319 @@
+package adapters.BinaryMapAdapter;
+
+import controllers.MapEditor.MapLoadTimings;
+import models.Continent.Continent;
+import models.Country.Country;
+import models.Enums.LineType;
+import models.Map.Map;
+import models.Map.MapGraph;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Adapter that reads and writes maps in the compact binary map format.
+ * <p>
+ * Layout of version 1, all integers as LEB128 varints (signed ones zigzag encoded):
+ * <pre>
+ * magic "WZMB", version byte
+ * continent count, country count, border count
+ * continents: name length, UTF-8 name, signed ID, signed army bonus
+ * countries:  signed ID delta to the previous country, name length, UTF-8 name, signed continent ID
+ * borders:    per country, in country order, the neighbor count followed by the neighbors as
+ *             signed deltas between consecutive file positions, starting from the country itself
+ * </pre>
+ * Neighbors are stored by their position in the file, so loading links them without any ID lookup.
+ */
+public class BinaryMapAdapter {
+    /** Extension of binary map files. */
+    public static final String EXTENSION = ".wzm";
+    private static final byte[] MAGIC = {'W', 'Z', 'M', 'B'};
+    private static final int VERSION = 1;
+    /** Smallest encoded length of a continent or country: a name length, an ID and one more varint. */
+    private static final int MIN_ELEMENT_LENGTH = 3;
+
+    /**
+     * Checks whether a file starts with the binary map header.
+     *
+     * @param p_file The file to check.
+     * @return true if the file is a binary map file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isBinaryMapFile(File p_file) throws IOException {
+        try (FileInputStream l_in = new FileInputStream(p_file)) {
+            return hasBinaryHeader(l_in.readNBytes(MAGIC.length));
+        }
+    }
+
+    /**
+     * Checks whether the first bytes of a stream are the binary map header.
+     *
+     * @param p_header The first bytes read, at most the length of the header is checked.
+     * @return true if the bytes start a binary map.
+     */
+    public static boolean hasBinaryHeader(byte[] p_header) {
+        return p_header.length >= MAGIC.length && Arrays.equals(p_header, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * Retrieves the number of bytes needed to recognize the binary map header.
+     *
+     * @return The length of the header.
+     */
+    public static int getHeaderLength() {
+        return MAGIC.length;
+    }
+
+    /**
+     * Writes a map to a binary map file with a single write.
+     * Neighbors that are not part of the map are not written.
+     *
+     * @param p_file The file to write.
+     * @param p_map  The map to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(File p_file, Map p_map) throws IOException {
+        byte[] l_bytes = encode(p_map);
+        try (FileOutputStream l_out = new FileOutputStream(p_file)) {
+            l_out.write(l_bytes);
+        }
+    }
+
+    /**
+     * Reads a binary map file and adds its continents, countries and borders to a map.
+     *
+     * @param p_file    The file to read.
+     * @param p_map     The map to fill.
+     * @param p_timings The timings to add the time of each section to, or null.
+     * @throws IOException If the file cannot be read or is not a valid binary map file.
+     */
+    public static void read(File p_file, Map p_map, MapLoadTimings p_timings) throws IOException {
+        decode(Files.readAllBytes(p_file.toPath()), p_map, p_timings);
+    }
+
+    /**
+     * Encodes a map in the binary map format.
+     *
+     * @param p_map The map to encode.
+     * @return The encoded map.
+     */
+    public static byte[] encode(Map p_map) {
+        ArrayList<Continent> l_continents = p_map.getContinents();
+        ArrayList<Country> l_countries = p_map.getCountries();
+        MapGraph l_graph = p_map.toGraph();
+        Encoder l_out = new Encoder(64 + l_countries.size() * 24 + l_graph.getEdgeCount() * 2);
+
+        l_out.bytes(MAGIC);
+        l_out.raw(VERSION);
+        l_out.varint(l_continents.size());
+        l_out.varint(l_countries.size());
+        l_out.varint(l_graph.getEdgeCount());
+        for (Continent l_continent : l_continents) {
+            l_out.string(l_continent.getName());
+            l_out.signed(l_continent.getID());
+            l_out.signed(l_continent.getArmyBonus());
+        }
+        int l_previousID = 0;
+        for (Country l_country : l_countries) {
+            l_out.signed(l_country.getID() - l_previousID);
+            l_previousID = l_country.getID();
+            l_out.string(l_country.getName());
+            l_out.signed(l_country.getContinentID());
+        }
+        for (int i = 0; i < l_graph.getCountryCount(); i++) {
+            l_out.varint(l_graph.neighborEnd(i) - l_graph.neighborStart(i));
+            int l_previous = i;
+            for (int e = l_graph.neighborStart(i); e < l_graph.neighborEnd(i); e++) {
+                l_out.signed(l_graph.neighborAt(e) - l_previous);
+                l_previous = l_graph.neighborAt(e);
+            }
+        }
+        return l_out.toByteArray();
+    }
+
+    /**
+     * Decodes a map in the binary map format and adds its elements to a map.
+     * Continents keep the IDs they were saved with. If the bytes are not a valid binary map, the
+     * map is left as it was: an empty map is decoded into directly and cleared on failure, and a
+     * map that already has elements only receives them once the whole map has been decoded.
+     *
+     * @param p_bytes   The encoded map.
+     * @param p_map     The map to fill.
+     * @param p_timings The timings to add the time of each section to, or null.
+     * @throws IOException If the bytes are not a valid binary map.
+     */
+    public static void decode(byte[] p_bytes, Map p_map, MapLoadTimings p_timings) throws IOException {
+        if (!p_map.getContinents().isEmpty() || !p_map.getCountries().isEmpty()) {
+            Map l_decoded = new Map();
+            decode(p_bytes, l_decoded, p_timings);
+            for (Continent l_continent : l_decoded.getContinents()) {
+                p_map.addContinent(l_continent);
+            }
+            for (Country l_country : l_decoded.getCountries()) {
+                p_map.addCountry(l_country);
+            }
+            return;
+        }
+        try {
+            decodeInto(p_bytes, p_map, p_timings == null ? new MapLoadTimings() : p_timings);
+        } catch (IOException e) {
+            p_map.clear();
+            throw e;
+        }
+    }
+
+    private static void decodeInto(byte[] p_bytes, Map p_map, MapLoadTimings p_timings) throws IOException {
+        Decoder l_in = new Decoder(p_bytes);
+        try {
+            for (byte l_magic : MAGIC) {
+                if (l_in.raw() != l_magic) throw new IOException("Not a binary map file.");
+            }
+            int l_version = l_in.raw();
+            if (l_version != VERSION) throw new IOException("Unsupported binary map version " + l_version + ".");
+            int l_continentCount = l_in.varint();
+            int l_countryCount = l_in.varint();
+            int l_borderCount = l_in.varint();
+            // every continent and country takes at least MIN_ELEMENT_LENGTH bytes, plus one for
+            // the neighbor count of a country, and every border at least one byte
+            long l_minLength = (long) l_continentCount * MIN_ELEMENT_LENGTH
+                    + (long) l_countryCount * (MIN_ELEMENT_LENGTH + 1) + l_borderCount;
+            if (l_continentCount < 0 || l_countryCount < 0 || l_borderCount < 0 || l_minLength > l_in.remaining()) {
+                throw new IOException("Corrupt binary map file.");
+            }
+            p_map.ensureCapacity(l_continentCount, l_countryCount);
+            long l_phaseStart = System.nanoTime();
+
+            for (int i = 0; i < l_continentCount; i++) {
+                String l_name = l_in.string();
+                int l_id = l_in.signed();
+                Continent l_continent = new Continent(l_name, l_in.signed());
+                l_continent.setID(l_id);
+                p_map.addContinent(l_continent);
+            }
+            long l_now = System.nanoTime();
+            p_timings.add(LineType.CONTINENT, l_now - l_phaseStart);
+            l_phaseStart = l_now;
+            Country[] l_countries = new Country[l_countryCount];
+            int l_id = 0;
+            for (int i = 0; i < l_countryCount; i++) {
+                l_id += l_in.signed();
+                String l_name = l_in.string();
+                l_countries[i] = new Country(l_id, l_name, l_in.signed());
+                p_map.addCountry(l_countries[i]);
+            }
+            l_now = System.nanoTime();
+            p_timings.add(LineType.COUNTRY, l_now - l_phaseStart);
+            l_phaseStart = l_now;
+            int l_bordersRead = 0;
+            for (int i = 0; i < l_countryCount; i++) {
+                int l_degree = l_in.varint();
+                l_countries[i].ensureNeighborCapacity(l_degree);
+                int l_neighbor = i;
+                for (int j = 0; j < l_degree; j++) {
+                    l_neighbor += l_in.signed();
+                    l_countries[i].addNeighbor(l_countries[l_neighbor]);
+                }
+                l_bordersRead += l_degree;
+            }
+            p_timings.add(LineType.NEIGHBOR, System.nanoTime() - l_phaseStart);
+            if (l_bordersRead != l_borderCount) throw new IOException("Corrupt binary map file.");
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Corrupt binary map file.", e);
+        }
+    }
+
+    /**
+     * Growable byte buffer writing varints.
+     */
+    private static class Encoder {
+        private byte[] d_buffer;
+        private int d_size;
+
+        Encoder(int p_capacity) {
+            this.d_buffer = new byte[Math.max(p_capacity, 16)];
+        }
+
+        void raw(int p_byte) {
+            if (d_size == d_buffer.length) d_buffer = Arrays.copyOf(d_buffer, d_buffer.length * 2);
+            d_buffer[d_size++] = (byte) p_byte;
+        }
+
+        void bytes(byte[] p_bytes) {
+            if (d_size + p_bytes.length > d_buffer.length) {
+                d_buffer = Arrays.copyOf(d_buffer, Math.max(d_size + p_bytes.length, d_buffer.length * 2));
+            }
+            System.arraycopy(p_bytes, 0, d_buffer, d_size, p_bytes.length);
+            d_size += p_bytes.length;
+        }
+
+        void varint(int p_value) {
+            while ((p_value & ~0x7F) != 0) {
+                raw((p_value & 0x7F) | 0x80);
+                p_value >>>= 7;
+            }
+            raw(p_value);
+        }
+
+        void signed(int p_value) {
+            varint((p_value << 1) ^ (p_value >> 31));
+        }
+
+        void string(String p_value) {
+            byte[] l_bytes = p_value.getBytes(StandardCharsets.UTF_8);
+            varint(l_bytes.length);
+            bytes(l_bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(d_buffer, d_size);
+        }
+    }
+
+    /**
+     * Reads varints from a byte array.
+     */
+    private static class Decoder {
+        private final byte[] d_buffer;
+        private int d_position;
+
+        Decoder(byte[] p_buffer) {
+            this.d_buffer = p_buffer;
+        }
+
+        int remaining() {
+            return d_buffer.length - d_position;
+        }
+
+        int raw() {
+            return d_buffer[d_position++];
+        }
+
+        int varint() throws IOException {
+            int l_value = 0;
+            for (int l_shift = 0; l_shift < 35; l_shift += 7) {
+                int l_byte = d_buffer[d_position++];
+                l_value |= (l_byte & 0x7F) << l_shift;
+                if ((l_byte & 0x80) == 0) return l_value;
+            }
+            throw new IOException("Corrupt binary map file.");
+        }
+
+        int signed() throws IOException {
+            int l_value = varint();
+            return (l_value >>> 1) ^ -(l_value & 1);
+        }
+
+        String string() throws IOException {
+            int l_length = varint();
+            String l_value = new String(d_buffer, d_position, l_length, StandardCharsets.UTF_8);
+            d_position += l_length;
+            return l_value;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package adapters.CommandJournal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of the commands accepted in a game, written ahead of their execution so a
+ * game can be rebuilt after a crash.
+ * <p>
+ * The journal is a UTF-8 text file with one entry per line:
+ * <pre>
+ * seed &lt;seed&gt;                        the seed of the game, first line
+ * setup &lt;command&gt;                     a command of the map editing or startup phase
+ * order &lt;player&gt; &lt;command&gt;            a command accepted from the player at that position
+ * turn &lt;turn&gt;                        the end of a turn
+ * checkpoint &lt;turn&gt; &lt;file&gt;            a snapshot of the game after that turn, in the same folder
+ * </pre>
+ * Entries are buffered and forced to the disk every few entries and at the end of every turn,
+ * so journaling costs one disk sync per batch rather than one per command. A crash loses at most
+ * the entries since the last sync. Only entries ended by a newline count: a partly written last
+ * line is ignored when reading, and cut off when the journal is reopened, so the next entry
+ * starts on a line of its own.
+ */
+public class CommandJournal implements Closeable {
+    /** Default number of entries written between two disk syncs. */
+    public static final int DEFAULT_SYNC_INTERVAL = 32;
+
+    private final File d_file;
+    private final FileOutputStream d_stream;
+    private final BufferedWriter d_writer;
+    private final int d_syncInterval;
+    private int d_unsynced;
+
+    /**
+     * Opens a journal for appending, creating the file if needed.
+     *
+     * @param p_file         The journal file.
+     * @param p_syncInterval The number of entries written between two disk syncs.
+     * @throws IOException If the file cannot be opened.
+     */
+    public CommandJournal(File p_file, int p_syncInterval) throws IOException {
+        this.d_file = p_file;
+        if (p_file.exists()) cutTornEntry(p_file);
+        this.d_stream = new FileOutputStream(p_file, true);
+        this.d_writer = new BufferedWriter(new OutputStreamWriter(d_stream, StandardCharsets.UTF_8));
+        this.d_syncInterval = Math.max(1, p_syncInterval);
+    }
+
+    /**
+     * Retrieves the journal file.
+     *
+     * @return The file.
+     */
+    public File getFile() {
+        return this.d_file;
+    }
+
+    /**
+     * Records the seed of the game.
+     *
+     * @param p_seed The seed.
+     * @throws IOException If the entry cannot be written.
+     */
+    public void appendSeed(long p_seed) throws IOException {
+        append("seed " + p_seed);
+    }
+
+    /**
+     * Records a command of the map editing or startup phase.
+     *
+     * @param p_command The command.
+     * @throws IOException If the entry cannot be written.
+     */
+    public void appendSetup(String p_command) throws IOException {
+        append("setup " + p_command);
+    }
+
+    /**
+     * Records a command issued by a player.
+     *
+     * @param p_player  The position of the player in the game.
+     * @param p_command The command.
+     * @throws IOException If the entry cannot be written.
+     */
+    public void appendOrder(int p_player, String p_command) throws IOException {
+        append("order " + p_player + " " + p_command);
+    }
+
+    /**
+     * Records the end of a turn and forces the journal to the disk.
+     *
+     * @param p_turn The number of turns played.
+     * @throws IOException If the entry cannot be written.
+     */
+    public void appendTurn(int p_turn) throws IOException {
+        append("turn " + p_turn);
+        sync();
+    }
+
+    /**
+     * Records a snapshot of the game and forces the journal to the disk.
+     *
+     * @param p_turn     The number of turns played when the snapshot was taken.
+     * @param p_snapshot The snapshot file, in the folder of the journal.
+     * @throws IOException If the entry cannot be written.
+     */
+    public void appendCheckpoint(int p_turn, File p_snapshot) throws IOException {
+        append("checkpoint " + p_turn + " " + p_snapshot.getName());
+        sync();
+    }
+
+    /**
+     * Writes the buffered entries and forces them to the disk.
+     *
+     * @throws IOException If the entries cannot be written.
+     */
+    public void sync() throws IOException {
+        d_writer.flush();
+        d_stream.getChannel().force(false);
+        d_unsynced = 0;
+    }
+
+    /**
+     * Syncs and closes the journal.
+     *
+     * @throws IOException If the entries cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            d_writer.close();
+        }
+    }
+
+    private void append(String p_entry) throws IOException {
+        // a command spanning lines would be read back as several entries
+        d_writer.write(p_entry.replace('\n', ' ').replace('\r', ' '));
+        // always '\n', which is how the end of an entry is recognized on every platform
+        d_writer.write('\n');
+        if (++d_unsynced >= d_syncInterval) sync();
+    }
+
+    /**
+     * Reads a journal.
+     *
+     * @param p_file The journal file.
+     * @return The entries of the journal.
+     * @throws IOException If the file cannot be read.
+     */
+    public static Contents read(File p_file) throws IOException {
+        Contents l_contents = new Contents();
+        try (BufferedReader l_reader = Files.newBufferedReader(p_file.toPath(), StandardCharsets.UTF_8)) {
+            StringBuilder l_line = new StringBuilder();
+            int l_char;
+            while ((l_char = l_reader.read()) != -1) {
+                if (l_char != '\n') {
+                    l_line.append((char) l_char);
+                    continue;
+                }
+                int l_length = l_line.length();
+                if (l_length > 0 && l_line.charAt(l_length - 1) == '\r') l_line.setLength(l_length - 1);
+                l_contents.add(l_line.toString());
+                l_line.setLength(0);
+            }
+            // whatever is left was not ended by a newline: a torn entry
+        }
+        return l_contents;
+    }
+
+    /**
+     * Cuts a journal back to its last complete entry, dropping a line torn by a crash.
+     *
+     * @param p_file The journal file.
+     * @throws IOException If the file cannot be read or truncated.
+     */
+    private static void cutTornEntry(File p_file) throws IOException {
+        try (FileChannel l_channel = FileChannel.open(p_file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer l_buffer = ByteBuffer.allocate(8192);
+            long l_end = l_channel.size();
+            while (l_end > 0) {
+                int l_length = (int) Math.min(l_buffer.capacity(), l_end);
+                long l_start = l_end - l_length;
+                l_buffer.clear().limit(l_length);
+                while (l_buffer.hasRemaining()) {
+                    if (l_channel.read(l_buffer, l_start + l_buffer.position()) < 0) throw new IOException("Journal shrank while reading.");
+                }
+                for (int i = l_length - 1; i >= 0; i--) {
+                    if (l_buffer.get(i) == '\n') {
+                        l_end = l_start + i + 1;
+                        if (l_end < l_channel.size()) l_channel.truncate(l_end);
+                        return;
+                    }
+                }
+                l_end = l_start;
+            }
+            l_channel.truncate(0);
+        }
+    }
+
+    /**
+     * Entries read from a journal.
+     */
+    public static class Contents {
+        private Long d_seed;
+        private final ArrayList<String> d_setupCommands = new ArrayList<>();
+        private final ArrayList<Integer> d_orderPlayers = new ArrayList<>();
+        private final ArrayList<String> d_orderCommands = new ArrayList<>();
+        private int d_turns;
+        private int d_checkpointTurn = -1;
+        private String d_checkpointFile;
+        private int d_checkpointOrderCount;
+
+        private void add(String p_line) {
+            String[] l_parts = p_line.split(" ", 3);
+            try {
+                switch (l_parts[0]) {
+                    case "seed":
+                        d_seed = Long.parseLong(l_parts[1]);
+                        break;
+                    case "setup":
+                        d_setupCommands.add(p_line.substring("setup ".length()));
+                        break;
+                    case "order":
+                        if (l_parts.length < 3) return;
+                        int l_player = Integer.parseInt(l_parts[1]);
+                        d_orderPlayers.add(l_player);
+                        d_orderCommands.add(l_parts[2]);
+                        break;
+                    case "turn":
+                        d_turns = Integer.parseInt(l_parts[1]);
+                        break;
+                    case "checkpoint":
+                        if (l_parts.length < 3) return;
+                        d_checkpointTurn = Integer.parseInt(l_parts[1]);
+                        d_checkpointFile = l_parts[2];
+                        d_checkpointOrderCount = d_orderCommands.size();
+                        break;
+                    default:
+                        // unknown or torn entry
+                        break;
+                }
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                // a torn last line after a crash
+            }
+        }
+
+        /**
+         * Retrieves the seed of the game.
+         *
+         * @return The seed, or null if the journal has none.
+         */
+        public Long getSeed() {
+            return this.d_seed;
+        }
+
+        /**
+         * Retrieves the commands of the map editing and startup phases, in order.
+         *
+         * @return The setup commands.
+         */
+        public List<String> getSetupCommands() {
+            return this.d_setupCommands;
+        }
+
+        /**
+         * Retrieves the number of turns the journal records as finished.
+         *
+         * @return The number of turns.
+         */
+        public int getTurns() {
+            return this.d_turns;
+        }
+
+        /**
+         * Retrieves the turn of the last checkpoint.
+         *
+         * @return The turn, or -1 if the journal has no checkpoint.
+         */
+        public int getCheckpointTurn() {
+            return this.d_checkpointTurn;
+        }
+
+        /**
+         * Retrieves the snapshot file of the last checkpoint, in the folder of the journal.
+         *
+         * @return The file name, or null if the journal has no checkpoint.
+         */
+        public String getCheckpointFile() {
+            return this.d_checkpointFile;
+        }
+
+        /**
+         * Retrieves, in order, the commands a player issued after some point of the journal.
+         *
+         * @param p_player        The position of the player.
+         * @param p_fromCheckpoint true to skip the commands issued before the last checkpoint.
+         * @return The commands of the player.
+         */
+        public List<String> getOrders(int p_player, boolean p_fromCheckpoint) {
+            ArrayList<String> l_orders = new ArrayList<>();
+            int l_start = p_fromCheckpoint ? d_checkpointOrderCount : 0;
+            for (int i = l_start; i < d_orderCommands.size(); i++) {
+                if (d_orderPlayers.get(i) == p_player) l_orders.add(d_orderCommands.get(i));
+            }
+            return l_orders;
+        }
+    }
+}
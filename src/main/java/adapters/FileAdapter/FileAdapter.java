@@ -1,32 +1,109 @@
 package adapters.FileAdapter;
 
+import adapters.GameSnapshot.GameSnapshot;
+
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintWriter;
 
+import static adapters.BinaryMapAdapter.BinaryMapAdapter.EXTENSION;
+
 /**
  * Adapter class for file-related operations.
  */
 
 public class FileAdapter {
     public static final String BASE_PATH = "src/main/resources/maps/";
+    /** Directory saved games are written to and loaded from. */
+    public static final String SAVE_PATH = "src/main/resources/saves/";
+    /** Extension added to the name of gzip compressed map files. */
+    public static final String COMPRESSED_EXTENSION = ".gz";
     private static PrintWriter pw;
 
     /**
      * Checks if a file exists in the specified directory.
+     * A name without extension matches the text and binary map files of that name, compressed or
+     * not; the most recently modified one is returned, preferring binary over text and uncompressed
+     * over compressed when they were modified at the same time. A name with a map extension also
+     * matches the compressed variant of that file when the file itself does not exist.
      *
      * @param p_fileName The name of the file to check.
      * @return The File object if it exists, otherwise null.
      */
     public static File isFileExists(String p_fileName) {
-        String l_fileName = p_fileName.endsWith(".map") ? p_fileName : p_fileName + ".map";
-        File l_file = new File(BASE_PATH + l_fileName);
-        if (l_file.exists()) return l_file;
-        return null;
+        String[] l_candidates;
+        if (p_fileName.endsWith(COMPRESSED_EXTENSION)) {
+            l_candidates = new String[]{p_fileName};
+        } else if (p_fileName.endsWith(".map") || p_fileName.endsWith(EXTENSION)) {
+            l_candidates = new String[]{p_fileName, p_fileName + COMPRESSED_EXTENSION};
+        } else {
+            l_candidates = new String[]{p_fileName + EXTENSION, p_fileName + ".map",
+                    p_fileName + EXTENSION + COMPRESSED_EXTENSION, p_fileName + ".map" + COMPRESSED_EXTENSION};
+        }
+        File l_found = null;
+        for (String l_candidate : l_candidates) {
+            File l_file = new File(BASE_PATH + l_candidate);
+            if (l_file.exists() && (l_found == null || l_file.lastModified() > l_found.lastModified())) {
+                l_found = l_file;
+            }
+        }
+        return l_found;
+    }
+
+    /**
+     * Checks whether a file starts with the gzip header.
+     *
+     * @param p_file The file to check.
+     * @return true if the file is gzip compressed.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isCompressedFile(File p_file) throws IOException {
+        try (FileInputStream l_in = new FileInputStream(p_file)) {
+            return l_in.read() == 0x1f && l_in.read() == 0x8b;
+        }
     }
+
     public static File createFile(String p_fileName){
         String l_fileName= p_fileName.endsWith(".map")?p_fileName:p_fileName+".map";
         return new File(BASE_PATH + l_fileName);
     }
+
+    /**
+     * Creates the File object of a binary map file in the specified directory.
+     *
+     * @param p_fileName The name of the map, with or without the binary extension.
+     * @return The File object of the binary map file.
+     */
+    public static File createBinaryFile(String p_fileName) {
+        String l_fileName = p_fileName.endsWith(EXTENSION) ? p_fileName : p_fileName + EXTENSION;
+        return new File(BASE_PATH + l_fileName);
+    }
+
+    /**
+     * Creates the File object of a gzip compressed map file in the specified directory.
+     *
+     * @param p_fileName The name of the map, without extension.
+     * @param p_binary   Whether the compressed map is in the binary map format.
+     * @return The File object of the compressed map file.
+     */
+    public static File createCompressedFile(String p_fileName, boolean p_binary) {
+        String l_extension = (p_binary ? EXTENSION : ".map") + COMPRESSED_EXTENSION;
+        String l_fileName = p_fileName.endsWith(l_extension) ? p_fileName : p_fileName + l_extension;
+        return new File(BASE_PATH + l_fileName);
+    }
+
+    /**
+     * Creates the File object of a saved game file in the saves directory.
+     *
+     * @param p_fileName The name of the saved game, with or without the saved game extension.
+     * @return The File object of the saved game file.
+     */
+    public static File createSaveFile(String p_fileName) {
+        String l_extension = GameSnapshot.EXTENSION;
+        String l_fileName = p_fileName.endsWith(l_extension) ? p_fileName : p_fileName + l_extension;
+        return new File(SAVE_PATH + l_fileName);
+    }
 }
@@ -0,0 +1,240 @@
+package adapters.GameSnapshot;
+
+import adapters.BinaryMapAdapter.BinaryMapAdapter;
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import models.Order.Advance.AdvanceOrder;
+import models.Order.Deploy.DeployOrder;
+import models.Order.Order;
+import models.Player.Player;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Adapter that saves and restores the state of a game in progress.
+ * <p>
+ * Layout of version 2, written with {@link DataOutputStream}:
+ * <pre>
+ * magic "WZGS", version byte, turn, the four state words of the game and of the strategy
+ *     random number generators
+ * map length, map in the binary map format
+ * armies of each country, in map order
+ * player count; per player: name, armies left to deploy, whether the player is still issuing
+ *     orders, owned count, owned countries as positions in map order, in the order the player
+ *     holds them, pending order count, pending orders in execution order
+ * deploy order:  type 0, target position, armies
+ * advance order: type 1, source position, target position, armies
+ * </pre>
+ * Version 1 has neither the issuing flags nor the pending orders; it is only read, for journal
+ * checkpoints written before version 2 existed. Owned countries are restored in the order the player held them, so a restored
+ * game draws the same random choices as the saved one.
+ */
+public class GameSnapshot {
+    /** Extension of saved game files. */
+    public static final String EXTENSION = ".wzg";
+    private static final byte[] MAGIC = {'W', 'Z', 'G', 'S'};
+    private static final int VERSION = 2;
+    private static final int DEPLOY = 0;
+    private static final int ADVANCE = 1;
+
+    /**
+     * Encodes the state of a game.
+     *
+     * @param p_context The game to save.
+     * @return The encoded snapshot.
+     */
+    public static byte[] encode(GameContext p_context) {
+        ArrayList<Country> l_countries = p_context.getMap().getCountries();
+        ByteArrayOutputStream l_bytes = new ByteArrayOutputStream(256 + l_countries.size() * 16);
+        try (DataOutputStream l_out = new DataOutputStream(l_bytes)) {
+            l_out.write(MAGIC);
+            l_out.writeByte(VERSION);
+            l_out.writeInt(p_context.getTurn());
+            for (long l_word : p_context.getRandom().getState()) {
+                l_out.writeLong(l_word);
+            }
+            for (long l_word : p_context.getStrategyRandom().getState()) {
+                l_out.writeLong(l_word);
+            }
+            byte[] l_map = BinaryMapAdapter.encode(p_context.getMap());
+            l_out.writeInt(l_map.length);
+            l_out.write(l_map);
+            // positions in map order, by dense index, to write countries without lookups
+            int[] l_positions = new int[p_context.getMap().getIndexBound()];
+            for (int i = 0; i < l_countries.size(); i++) {
+                l_out.writeInt(l_countries.get(i).getArmiesDeployed());
+                l_positions[l_countries.get(i).getIndex()] = i;
+            }
+            l_out.writeInt(p_context.getPlayers().size());
+            for (Player l_player : p_context.getPlayers()) {
+                l_out.writeUTF(l_player.getName());
+                l_out.writeInt(l_player.getNoOfArmies());
+                l_out.writeBoolean(l_player.hasOrders());
+                l_out.writeInt(l_player.getOwnedCount());
+                for (Country l_country : l_player.getOwnedCountries()) {
+                    l_out.writeInt(l_positions[l_country.getIndex()]);
+                }
+                l_out.writeInt(l_player.getOrders().size());
+                for (Order l_order : l_player.getOrders()) {
+                    writeOrder(l_out, l_order, l_positions);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory failed.", e);
+        }
+        return l_bytes.toByteArray();
+    }
+
+    /**
+     * Restores the state of a game. The map and players of the context are replaced; the players
+     * issue orders typed on the console until their order sources are changed.
+     *
+     * @param p_bytes   The encoded snapshot.
+     * @param p_context The game to restore.
+     * @return The number of turns played when the snapshot was taken.
+     * @throws IOException If the bytes are not a valid snapshot.
+     */
+    public static int decode(byte[] p_bytes, GameContext p_context) throws IOException {
+        try (DataInputStream l_in = new DataInputStream(new ByteArrayInputStream(p_bytes))) {
+            byte[] l_magic = new byte[MAGIC.length];
+            l_in.readFully(l_magic);
+            if (!Arrays.equals(l_magic, MAGIC)) throw new IOException("Not a game snapshot.");
+            int l_version = l_in.readUnsignedByte();
+            if (l_version < 1 || l_version > VERSION) throw new IOException("Unsupported game snapshot version " + l_version + ".");
+            int l_turn = l_in.readInt();
+            long[] l_state = readState(l_in);
+            long[] l_strategyState = readState(l_in);
+            byte[] l_mapBytes = new byte[checkLength(l_in.readInt(), p_bytes.length)];
+            l_in.readFully(l_mapBytes);
+            Map l_map = new Map();
+            BinaryMapAdapter.decode(l_mapBytes, l_map, null);
+            ArrayList<Country> l_countries = l_map.getCountries();
+            for (Country l_country : l_countries) {
+                l_country.setArmiesDeployed(l_in.readInt());
+            }
+            int l_playerCount = checkLength(l_in.readInt(), p_bytes.length);
+            ArrayList<Player> l_players = new ArrayList<>(l_playerCount);
+            for (int i = 0; i < l_playerCount; i++) {
+                Player l_player = new Player(l_in.readUTF());
+                l_player.setNoOfArmies(l_in.readInt());
+                if (l_version >= 2) l_player.setHasOrders(l_in.readBoolean());
+                int l_owned = checkLength(l_in.readInt(), l_countries.size());
+                for (int j = 0; j < l_owned; j++) {
+                    l_player.addOwnedCountry(readCountry(l_in, l_countries));
+                }
+                if (l_version >= 2) {
+                    int l_orders = checkLength(l_in.readInt(), p_bytes.length);
+                    for (int j = 0; j < l_orders; j++) {
+                        l_player.addOrder(readOrder(l_in, l_player, l_countries));
+                    }
+                }
+                l_players.add(l_player);
+            }
+            p_context.getRandom().setState(l_state);
+            p_context.getStrategyRandom().setState(l_strategyState);
+            p_context.setMap(l_map);
+            p_context.setPlayers(l_players);
+            p_context.setTurn(l_turn);
+            return l_turn;
+        } catch (EOFException | IllegalArgumentException e) {
+            throw new IOException("Corrupt game snapshot.", e);
+        }
+    }
+
+    /**
+     * Writes the state of a game to a file with a single channel write. The snapshot is written
+     * to a temporary file first and then moved over the target, so a crash never leaves a partly
+     * written snapshot.
+     *
+     * @param p_file    The file to write.
+     * @param p_context The game to save.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(File p_file, GameContext p_context) throws IOException {
+        File l_temp = new File(p_file.getPath() + ".tmp");
+        ByteBuffer l_buffer = ByteBuffer.wrap(encode(p_context));
+        try (FileChannel l_channel = FileChannel.open(l_temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (l_buffer.hasRemaining()) {
+                l_channel.write(l_buffer);
+            }
+        }
+        Files.move(l_temp.toPath(), p_file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the state of a game from a file.
+     *
+     * @param p_file    The file to read.
+     * @param p_context The game to restore.
+     * @return The number of turns played when the snapshot was taken.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static int read(File p_file, GameContext p_context) throws IOException {
+        return decode(Files.readAllBytes(p_file.toPath()), p_context);
+    }
+
+    private static void writeOrder(DataOutputStream p_out, Order p_order, int[] p_positions) throws IOException {
+        switch (p_order.getName()) {
+            case DEPLOY:
+                DeployOrder l_deploy = (DeployOrder) p_order;
+                p_out.writeByte(DEPLOY);
+                p_out.writeInt(p_positions[l_deploy.getTargetCountry().getIndex()]);
+                p_out.writeInt(l_deploy.getNoOfArmies());
+                break;
+            case ADVANCE:
+                AdvanceOrder l_advance = (AdvanceOrder) p_order;
+                p_out.writeByte(ADVANCE);
+                p_out.writeInt(p_positions[l_advance.getSourceCountry().getIndex()]);
+                p_out.writeInt(p_positions[l_advance.getTargetCountry().getIndex()]);
+                p_out.writeInt(l_advance.getNoOfArmies());
+                break;
+        }
+    }
+
+    private static Order readOrder(DataInputStream p_in, Player p_player, ArrayList<Country> p_countries) throws IOException {
+        int l_type = p_in.readUnsignedByte();
+        switch (l_type) {
+            case DEPLOY:
+                return new DeployOrder(readCountry(p_in, p_countries), p_in.readInt());
+            case ADVANCE:
+                Country l_source = readCountry(p_in, p_countries);
+                return new AdvanceOrder(p_player, l_source, readCountry(p_in, p_countries), p_in.readInt());
+            default:
+                throw new IOException("Corrupt game snapshot.");
+        }
+    }
+
+    private static Country readCountry(DataInputStream p_in, ArrayList<Country> p_countries) throws IOException {
+        int l_position = p_in.readInt();
+        if (l_position < 0 || l_position >= p_countries.size()) throw new IOException("Corrupt game snapshot.");
+        return p_countries.get(l_position);
+    }
+
+    private static long[] readState(DataInputStream p_in) throws IOException {
+        long[] l_state = new long[4];
+        for (int i = 0; i < l_state.length; i++) {
+            l_state[i] = p_in.readLong();
+        }
+        return l_state;
+    }
+
+    private static int checkLength(int p_length, int p_limit) throws IOException {
+        if (p_length < 0 || p_length > p_limit) throw new IOException("Corrupt game snapshot.");
+        return p_length;
+    }
+}
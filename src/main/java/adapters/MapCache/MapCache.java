@@ -0,0 +1,159 @@
+package adapters.MapCache;
+
+import adapters.BinaryMapAdapter.BinaryMapAdapter;
+import controllers.MapEditor.MapLoadTimings;
+import models.Map.Map;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * Cache of parsed map files.
+ * Each entry is an immutable snapshot of a map in the binary map format, keyed by the canonical
+ * path, size and last-modified time of the file it was parsed from, so a changed file never hits.
+ * A hit decodes the snapshot into a fresh, mutable map, which is much cheaper than parsing text.
+ * Entries are evicted least recently used first once their total size exceeds the memory budget.
+ * Each game has its own cache unless games are explicitly given the same one.
+ */
+public class MapCache {
+    /** Default memory budget of a cache, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    /** Estimated memory held by an entry besides its snapshot, in bytes. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final LinkedHashMap<Key, byte[]> d_entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long d_maxBytes;
+    private long d_bytes;
+    private long d_hits;
+    private long d_misses;
+
+    /**
+     * Identifies one version of a map file.
+     */
+    private static final class Key {
+        private final String d_path;
+        private final long d_size;
+        private final long d_lastModified;
+
+        Key(File p_file) throws IOException {
+            this.d_path = p_file.getCanonicalPath();
+            this.d_size = p_file.length();
+            this.d_lastModified = p_file.lastModified();
+        }
+
+        @Override
+        public boolean equals(Object p_other) {
+            if (!(p_other instanceof Key)) return false;
+            Key l_other = (Key) p_other;
+            return d_size == l_other.d_size && d_lastModified == l_other.d_lastModified && d_path.equals(l_other.d_path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(d_path, d_size, d_lastModified);
+        }
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param p_maxBytes The memory budget of the cache, in bytes.
+     */
+    public MapCache(long p_maxBytes) {
+        this.d_maxBytes = p_maxBytes;
+    }
+
+    /**
+     * Adds the cached snapshot of a file to a map, if the file has not changed since it was cached.
+     *
+     * @param p_file    The map file.
+     * @param p_map     The map to fill.
+     * @param p_timings The timings to add the decoding time to, or null.
+     * @return true if the snapshot was found and added to the map; false otherwise.
+     * @throws IOException If the path of the file cannot be resolved.
+     */
+    public synchronized boolean load(File p_file, Map p_map, MapLoadTimings p_timings) throws IOException {
+        byte[] l_snapshot = d_entries.get(new Key(p_file));
+        if (l_snapshot == null) {
+            d_misses++;
+            return false;
+        }
+        d_hits++;
+        BinaryMapAdapter.decode(l_snapshot, p_map, p_timings);
+        return true;
+    }
+
+    /**
+     * Caches a snapshot of a map parsed from a file.
+     * A snapshot larger than the whole budget is not cached.
+     *
+     * @param p_file The file the map was parsed from.
+     * @param p_map  The map holding exactly the content of the file.
+     * @throws IOException If the path of the file cannot be resolved.
+     */
+    public synchronized void put(File p_file, Map p_map) throws IOException {
+        Key l_key = new Key(p_file);
+        byte[] l_snapshot = BinaryMapAdapter.encode(p_map);
+        long l_size = estimateSize(l_snapshot);
+        if (l_size > d_maxBytes) return;
+        byte[] l_previous = d_entries.put(l_key, l_snapshot);
+        if (l_previous != null) d_bytes -= estimateSize(l_previous);
+        d_bytes += l_size;
+        Iterator<byte[]> l_eldest = d_entries.values().iterator();
+        while (d_bytes > d_maxBytes) {
+            d_bytes -= estimateSize(l_eldest.next());
+            l_eldest.remove();
+        }
+    }
+
+    /**
+     * Removes every entry from the cache.
+     */
+    public synchronized void clear() {
+        d_entries.clear();
+        d_bytes = 0;
+    }
+
+    /**
+     * Retrieves the number of cached snapshots.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return d_entries.size();
+    }
+
+    /**
+     * Retrieves the estimated memory held by the cache.
+     *
+     * @return The estimated size in bytes.
+     */
+    public synchronized long getBytes() {
+        return d_bytes;
+    }
+
+    /**
+     * Retrieves the number of loads answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public synchronized long getHits() {
+        return d_hits;
+    }
+
+    /**
+     * Retrieves the number of loads the cache could not answer.
+     *
+     * @return The number of misses.
+     */
+    public synchronized long getMisses() {
+        return d_misses;
+    }
+
+    private static long estimateSize(byte[] p_snapshot) {
+        return p_snapshot.length + ENTRY_OVERHEAD;
+    }
+}
@@ -43,8 +43,12 @@ public class Commands {
                 "Remove a neighboring connection between countries.",
                 new String[]{"countryID","neighborcountryID"}));
         l_mapEditingCommands.add(new Command("savemap","Save a map to a text file exactly as edited.",new String[]{"filename"}));
+        l_mapEditingCommands.add(new Command("savemap -binary","Save a map to a compact binary file.",new String[]{"filename"}));
+        l_mapEditingCommands.add(new Command("savemap -compressed","Save a map to a gzip compressed file; combine with -binary for a compressed binary file.",new String[]{"filename"}));
+        l_mapEditingCommands.add(new Command("loadgame","Load a saved game and continue it.",new String[]{"filename"}));
         l_mapEditingCommands.add(new Command("showcommands","Display all available commands."));
         l_mapEditingCommands.add(new Command("showmap","Display the current state of the game map."));
+        l_mapEditingCommands.add(new Command("validatemap","Check whether the map being edited is valid."));
         l_mapEditingCommands.add(new Command("proceed","Proceed to the next phase of the game."));
         l_mapEditingCommands.add(new Command("exit","Exit the game."));
         PHASE_COMMANDS_MAP.put(GamePhase.MAP_EDITING,l_mapEditingCommands);
@@ -53,6 +57,7 @@ public class Commands {
         ArrayList<Command> l_startupCommands = new ArrayList<>();
         l_startupCommands.add(new Command("gameplayer -add","Add a player with the specified name to the game.",new String[]{"playername"}));
         l_startupCommands.add(new Command("gameplayer -remove","Remove the player with the specified name from the game",new String[]{"playername"}));
+        l_startupCommands.add(new Command("loadgame","Load a saved game and continue it.",new String[]{"filename"}));
         l_startupCommands.add(new Command("showcommands","Display all available commands."));
         l_startupCommands.add(new Command("startgame","Transition to the next phase and begin the game."));
         l_startupCommands.add(new Command("exit","Exit the game."));
@@ -61,9 +66,11 @@ public class Commands {
         // Commands for the issue order phase
         ArrayList<Command> l_issueOrders = new ArrayList<>();
         l_issueOrders.add(new Command("deploy","Deploy a specified number of armies to a country.",new String[]{"countryID","num"}));
+        l_issueOrders.add(new Command("advance","Move armies to a neighboring country you own, or attack a neighboring country you do not own.",new String[]{"countryFromID","countryToID","num"}));
         l_issueOrders.add(new Command("showcommands","Display all available commands."));
         l_issueOrders.add(new Command("showarmies","Displays the number of armies owned by the current player."));
         l_issueOrders.add(new Command("showmap","Display the current state of the game map."));
+        l_issueOrders.add(new Command("savegame","Save the game in progress to a file.",new String[]{"filename"}));
         l_issueOrders.add(new Command("endturn","End your turn without issuing any more orders for this round."));
         l_issueOrders.add(new Command("exit","Exit the game."));
         PHASE_COMMANDS_MAP.put(GamePhase.ISSUE_ORDERS,l_issueOrders);
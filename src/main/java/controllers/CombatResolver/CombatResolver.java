@@ -0,0 +1,192 @@
+package controllers.CombatResolver;
+
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.GameContext.GameRandom;
+import models.Player.Player;
+
+import java.util.Arrays;
+
+/**
+ * Resolves the battles of an execution round as one batch.
+ * Attacks are queued while the orders of the round execute, and fought in queue order once the
+ * round is over. Each attacking army kills a defender with probability
+ * {@link #ATTACKER_KILL_CHANCE} and each defending army kills an attacker with probability
+ * {@link #DEFENDER_KILL_CHANCE}, drawing from the seeded {@link GameRandom} of the game.
+ * A country whose defenders all die is conquered by the surviving attackers; otherwise the
+ * survivors return to the country they attacked from, unless an earlier battle of the round
+ * conquered it, in which case they are lost.
+ * Battles are fought on a scratch copy of the armies and owners of the countries involved, kept in
+ * arrays addressed by the dense index of the countries, and the results are written back to the
+ * countries in a single pass. The arrays are reused from one round to the next, so a round
+ * allocates nothing once they have grown to fit.
+ */
+public class CombatResolver {
+    /** Probability that an attacking army kills a defending army. */
+    public static final double ATTACKER_KILL_CHANCE = 0.6;
+    /** Probability that a defending army kills an attacking army. */
+    public static final double DEFENDER_KILL_CHANCE = 0.7;
+
+    private int d_battleCount;
+    private Player[] d_attackers = new Player[16];
+    private Country[] d_sources = new Country[16];
+    private Country[] d_targets = new Country[16];
+    private int[] d_attacking = new int[16];
+    private int[] d_attackerLosses = new int[16];
+    private int[] d_defenderLosses = new int[16];
+
+    private int d_touchedCount;
+    private Country[] d_touched = new Country[16];
+    private boolean[] d_isTouched = new boolean[16];
+    private int[] d_armies = new int[16];
+    private Player[] d_owners = new Player[16];
+
+    /**
+     * Queues an attack. The attacking armies leave the source country at once.
+     *
+     * @param p_attacker The player attacking.
+     * @param p_source   The country the attack comes from.
+     * @param p_target   The country attacked.
+     * @param p_armies   The number of attacking armies, no more than the armies on the source.
+     */
+    public void addBattle(Player p_attacker, Country p_source, Country p_target, int p_armies) {
+        if (d_battleCount == d_attacking.length) {
+            int l_length = d_battleCount * 2;
+            d_attackers = Arrays.copyOf(d_attackers, l_length);
+            d_sources = Arrays.copyOf(d_sources, l_length);
+            d_targets = Arrays.copyOf(d_targets, l_length);
+            d_attacking = Arrays.copyOf(d_attacking, l_length);
+            d_attackerLosses = Arrays.copyOf(d_attackerLosses, l_length);
+            d_defenderLosses = Arrays.copyOf(d_defenderLosses, l_length);
+        }
+        p_source.setArmiesDeployed(p_source.getArmiesDeployed() - p_armies);
+        d_attackers[d_battleCount] = p_attacker;
+        d_sources[d_battleCount] = p_source;
+        d_targets[d_battleCount] = p_target;
+        d_attacking[d_battleCount] = p_armies;
+        d_battleCount++;
+    }
+
+    /**
+     * Retrieves the number of queued battles.
+     *
+     * @return The number of battles waiting to be resolved.
+     */
+    public int getBattleCount() {
+        return this.d_battleCount;
+    }
+
+    /**
+     * Fights every queued battle and applies the results to the countries.
+     *
+     * @param p_context The game the battles are fought in.
+     * @return The number of countries that changed owner.
+     */
+    public int resolve(GameContext p_context) {
+        GameRandom l_random = p_context.getRandom();
+        for (int i = 0; i < d_battleCount; i++) {
+            int l_target = touch(d_targets[i]);
+            int l_attacking = d_attacking[i];
+            if (d_owners[l_target] == d_attackers[i]) {
+                // an earlier battle of the round gave the target to the attacker: the armies move in
+                d_armies[l_target] += l_attacking;
+                d_attackerLosses[i] = 0;
+                d_defenderLosses[i] = 0;
+                continue;
+            }
+            int l_defending = d_armies[l_target];
+            int l_attackerLosses = Math.min(l_attacking, countKills(l_random, l_defending, DEFENDER_KILL_CHANCE));
+            int l_defenderLosses = Math.min(l_defending, countKills(l_random, l_attacking, ATTACKER_KILL_CHANCE));
+            d_attackerLosses[i] = l_attackerLosses;
+            d_defenderLosses[i] = l_defenderLosses;
+            int l_survivors = l_attacking - l_attackerLosses;
+            if (l_defending == l_defenderLosses && l_survivors > 0) {
+                d_owners[l_target] = d_attackers[i];
+                d_armies[l_target] = l_survivors;
+            } else {
+                d_armies[l_target] = l_defending - l_defenderLosses;
+                int l_source = touch(d_sources[i]);
+                // survivors cannot return to a source an earlier battle of the round conquered
+                if (d_owners[l_source] == d_attackers[i]) d_armies[l_source] += l_survivors;
+            }
+        }
+
+        int l_conquests = 0;
+        for (int i = 0; i < d_touchedCount; i++) {
+            Country l_country = d_touched[i];
+            int l_index = l_country.getIndex();
+            l_country.setArmiesDeployed(d_armies[l_index]);
+            Player l_owner = d_owners[l_index];
+            if (l_owner != l_country.getOwner()) {
+                l_owner.addOwnedCountry(l_country);
+                l_conquests++;
+                if (!p_context.isQuiet()) {
+                    p_context.getOut().println("\nCountry " + l_country.getID() + " has been conquered by " + l_owner.getName() + ".");
+                }
+            }
+            d_isTouched[l_index] = false;
+            d_owners[l_index] = null;
+            d_touched[i] = null;
+        }
+        d_touchedCount = 0;
+        Arrays.fill(d_attackers, 0, d_battleCount, null);
+        Arrays.fill(d_sources, 0, d_battleCount, null);
+        Arrays.fill(d_targets, 0, d_battleCount, null);
+        d_battleCount = 0;
+        return l_conquests;
+    }
+
+    /**
+     * Retrieves the attacking armies lost in a battle of the last resolved round.
+     * Valid until the next battle is queued.
+     *
+     * @param p_battle The position of the battle in the round.
+     * @return The number of attackers killed.
+     */
+    public int getAttackerLosses(int p_battle) {
+        return this.d_attackerLosses[p_battle];
+    }
+
+    /**
+     * Retrieves the defending armies lost in a battle of the last resolved round.
+     * Valid until the next battle is queued.
+     *
+     * @param p_battle The position of the battle in the round.
+     * @return The number of defenders killed.
+     */
+    public int getDefenderLosses(int p_battle) {
+        return this.d_defenderLosses[p_battle];
+    }
+
+    /**
+     * Copies the armies and owner of a country to the scratch arrays on first use in the round.
+     *
+     * @param p_country The country.
+     * @return The dense index of the country.
+     */
+    private int touch(Country p_country) {
+        int l_index = p_country.getIndex();
+        if (l_index >= d_isTouched.length) {
+            int l_length = Math.max(d_isTouched.length * 2, l_index + 1);
+            d_isTouched = Arrays.copyOf(d_isTouched, l_length);
+            d_armies = Arrays.copyOf(d_armies, l_length);
+            d_owners = Arrays.copyOf(d_owners, l_length);
+        }
+        if (!d_isTouched[l_index]) {
+            d_isTouched[l_index] = true;
+            d_armies[l_index] = p_country.getArmiesDeployed();
+            d_owners[l_index] = p_country.getOwner();
+            if (d_touchedCount == d_touched.length) d_touched = Arrays.copyOf(d_touched, d_touchedCount * 2);
+            d_touched[d_touchedCount++] = p_country;
+        }
+        return l_index;
+    }
+
+    private static int countKills(GameRandom p_random, int p_armies, double p_chance) {
+        int l_kills = 0;
+        for (int i = 0; i < p_armies; i++) {
+            if (p_random.nextDouble() < p_chance) l_kills++;
+        }
+        return l_kills;
+    }
+}
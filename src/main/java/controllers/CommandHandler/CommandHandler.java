@@ -6,13 +6,16 @@
 package controllers.CommandHandler;
 
 
+import adapters.GameSnapshot.GameSnapshot;
+import controllers.CombatResolver.CombatResolver;
 import controllers.MapEditor.MapEditor;
+import controllers.TurnScheduler.TurnScheduler;
 import models.Enums.GamePhase;
+import models.GameContext.GameContext;
 import models.Map.Map;
-import models.MapHolder.MapHolder;
+import models.Order.Advance.AdvanceOrder;
 import models.Order.Order;
 import models.Player.Player;
-import models.PlayerHolder.PlayerHolder;
 
 import java.io.*;
 import java.util.ArrayList;
@@ -22,8 +25,6 @@ import static utils.Feedback.*;
 
 public class CommandHandler {
 
-    final static int MIN_ARMIES_PER_PLAYER = 3;
-
     /**
      * Handles the loadmap command by loading the specified map file.
      * If the file exists, it loads the map using the provided MapEditor instance.
@@ -40,11 +41,13 @@ public class CommandHandler {
                 p_mapEditor.loadMap(l_file);
                 // \n to skip one line
                 System.out.println("\nMap loaded successfully. Type 'proceed' to move to the next phase of the game.");
+                System.out.println("Load timings: " + p_mapEditor.getLastLoadTimings()
+                        + (p_mapEditor.isLastLoadCached() ? " (from cache)" : ""));
             } catch (FileNotFoundException e) {
                 System.out.println("File not found.");
             } catch (IOException e) {
-                System.out.println("IO exception.");
-                System.exit(0);
+                // a corrupt file leaves the map as it was, so the game goes on
+                System.out.println("\nThe map could not be loaded: " + e.getMessage());
             }
         } else {
             System.out.println("\nThe specified map file does not exist." +
@@ -58,17 +61,19 @@ public class CommandHandler {
         //load map if file exists.
         if (l_file != null) {
             try {
-                //it will load the map that is in MapHolder.
+                //it will load the map of the game the editor belongs to.
                 p_mapEditor.loadMap(l_file);
-                p_mapEditor.setMapInRegistry(l_fileName, MapHolder.getMap());
+                p_mapEditor.setMapInRegistry(l_fileName, p_mapEditor.getMap());
                 p_mapEditor.setCurrentEditingFilename(l_fileName);
                 System.out.println("\nMap loaded successfully. Ready for editing.");
+                System.out.println("Load timings: " + p_mapEditor.getLastLoadTimings()
+                        + (p_mapEditor.isLastLoadCached() ? " (from cache)" : ""));
                 System.out.println("Use 'showcommands' to see to see how you can edit the map.");
             } catch (FileNotFoundException e) {
                 System.out.println("File not found.");
             } catch (IOException e) {
-                System.out.println("IO exception.");
-                System.exit(0);
+                // a corrupt file leaves the map as it was, so the game goes on
+                System.out.println("\nThe map could not be loaded: " + e.getMessage());
             }
         } else {
             //check if map is not in registry
@@ -86,19 +91,114 @@ public class CommandHandler {
 
     }
 
+    /**
+     * Handles the savemap command by saving the map edited under the given filename.
+     * With the -binary option the map is saved in the compact binary map format instead of text,
+     * and with the -compressed option the file is gzip compressed. Options come before the filename.
+     *
+     * @param p_command   The savemap command.
+     * @param p_mapEditor The MapEditor instance.
+     */
     public static void handleSaveMapCommand(String p_command, MapEditor p_mapEditor) {
-        String l_fileName = p_command.split(" ")[1];
-        File l_file;
+        String[] l_commandParts = p_command.split("\\s+");
+        boolean l_binary = false;
+        boolean l_compressed = false;
+        int i = 1;
+        while (i < l_commandParts.length - 1 && l_commandParts[i].startsWith("-")) {
+            if (l_commandParts[i].equals("-binary")) {
+                l_binary = true;
+            } else if (l_commandParts[i].equals("-compressed")) {
+                l_compressed = true;
+            } else {
+                System.out.println("\nInvalid option: " + l_commandParts[i]);
+                return;
+            }
+            i++;
+        }
+        String l_fileName = l_commandParts[i];
         if (!p_mapEditor.getMapRegistry().containsKey(l_fileName)) {
             System.out.println("\nPlease specify the same filename used for editing when saving the map.");
             return;
         }
-        l_file = isFileExists(l_fileName);
-        if (l_file == null) {
-            l_file = createFile(l_fileName);
-            p_mapEditor.saveMap(l_file, p_mapEditor.getMapRegistry().get(l_fileName));
+        Map l_map = p_mapEditor.getMapRegistry().get(l_fileName);
+        if (l_compressed) {
+            p_mapEditor.saveMapCompressed(createCompressedFile(l_fileName, l_binary), l_map, l_binary);
+        } else if (l_binary) {
+            p_mapEditor.saveMapBinary(createBinaryFile(l_fileName), l_map);
         } else {
-            p_mapEditor.saveMap(l_file, p_mapEditor.getMapRegistry().get(l_fileName));
+            // the text file is written even when a binary file of the same name exists
+            p_mapEditor.saveMap(createFile(l_fileName), l_map);
+        }
+    }
+
+    /**
+     * Handles the savegame command by writing a snapshot of the game in progress to the saves
+     * directory: the map, the armies and owner of every country, the armies and pending orders of
+     * every player and the state of the random number generators.
+     *
+     * @param p_command The savegame command.
+     * @param p_context The game to save.
+     */
+    public static void handleSaveGameCommand(String p_command, GameContext p_context) {
+        String[] l_commandParts = p_command.trim().split("\\s+");
+        if (l_commandParts.length < 2) {
+            p_context.getOut().println("\nPlease specify the name of the file to save the game to.");
+            return;
+        }
+        File l_file = createSaveFile(l_commandParts[1]);
+        try {
+            l_file.getAbsoluteFile().getParentFile().mkdirs();
+            long l_start = System.nanoTime();
+            GameSnapshot.write(l_file, p_context);
+            p_context.getOut().println("\nGame saved to " + l_file.getName() + " in "
+                    + (System.nanoTime() - l_start) / 1_000_000 + " ms.");
+        } catch (IOException e) {
+            p_context.getOut().println("\nThe game could not be saved: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the loadgame command by restoring a game saved with the savegame command into the
+     * given context, replacing its map and players.
+     *
+     * @param p_command The loadgame command.
+     * @param p_context The game to restore into.
+     * @return true if the game was restored.
+     */
+    public static boolean handleLoadGameCommand(String p_command, GameContext p_context) {
+        String[] l_commandParts = p_command.trim().split("\\s+");
+        if (l_commandParts.length < 2) {
+            p_context.getOut().println("\nPlease specify the name of the saved game to load.");
+            return false;
+        }
+        File l_file = createSaveFile(l_commandParts[1]);
+        if (!l_file.exists()) {
+            p_context.getOut().println("\nThe specified saved game does not exist.");
+            return false;
+        }
+        try {
+            long l_start = System.nanoTime();
+            int l_turn = GameSnapshot.read(l_file, p_context);
+            p_context.getOut().println("\nGame loaded at turn " + l_turn + " in "
+                    + (System.nanoTime() - l_start) / 1_000_000 + " ms.");
+            return true;
+        } catch (IOException e) {
+            p_context.getOut().println("\nThe game could not be loaded: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Handles the validatemap command by checking the map currently being edited.
+     * The answer comes from the validation state kept up to date by the edit commands.
+     *
+     * @param p_mapEditor The MapEditor instance.
+     */
+    public static void handleValidateMapCommand(MapEditor p_mapEditor) {
+        if (p_mapEditor.validateCurrentMap()) {
+            System.out.println("\nThe map '" + p_mapEditor.getCurrentEditingFilename() + "' is valid.");
+        } else if (p_mapEditor.getCurrentEditingFilename() != null) {
+            System.out.println("The map '" + p_mapEditor.getCurrentEditingFilename() + "' is not valid.");
         }
     }
 
@@ -219,93 +319,72 @@ public class CommandHandler {
 
     /**
      * Handles the issue order phase by allowing players to issue orders one by one until all players have finished.
+     * Players take turns through a ready queue; a player who ends the turn leaves it.
+     *
+     * @param p_context The game whose players issue orders.
      */
 
-    public static void handleIssueOrder() {
-        int l_currentPlayerIndex = 0;
-        ArrayList<Player> l_existingPlayers = PlayerHolder.getPlayers();
-        while (true) {
-            if (allPlayersDoneWithOrders()) break;
-            Player l_currentPlayer = l_existingPlayers.get(l_currentPlayerIndex);
-            if (!l_currentPlayer.hasOrders()) {
-                l_currentPlayerIndex = (l_currentPlayerIndex + 1) % l_existingPlayers.size();
-                continue;
-            }
-            l_currentPlayer.issue_order();
+    public static void handleIssueOrder(GameContext p_context) {
+        TurnScheduler l_scheduler = new TurnScheduler(p_context.getPlayers(), Player::hasOrders);
+        Player l_currentPlayer;
+        while ((l_currentPlayer = l_scheduler.next()) != null) {
+            l_currentPlayer.issue_order(p_context);
             if (!l_currentPlayer.lastCommandValidForOrders()) {
+                // the same player is asked again, unless the command ended the turn
+                if (l_currentPlayer.hasOrders()) l_scheduler.retry(l_currentPlayer);
                 continue;
             }
-            l_currentPlayer.setHasOrders(l_currentPlayer.getNoOfArmies() > 0);
-            l_currentPlayerIndex = (l_currentPlayerIndex + 1) % l_existingPlayers.size();
+            // a player stays in the round until the turn is ended, since armies can still advance
+            if (l_currentPlayer.hasOrders()) l_scheduler.requeue(l_currentPlayer);
         }
-        System.out.println("\nAll players have finished issuing orders. The game is now proceeding to execute orders.");
-    }
-
-    /**
-     * Checks if all players are done issuing orders.
-     *
-     * @return True if all players are done issuing orders, false otherwise.
-     */
-    private static boolean allPlayersDoneWithOrders() {
-        boolean l_allPlayersDone = true;
-        for (Player player : PlayerHolder.getPlayers()) {
-            if (player.hasOrders()) {
-                l_allPlayersDone = false;
-                break;
-            }
-        }
-        return l_allPlayersDone;
+        p_context.getOut().println("\nAll players have finished issuing orders. The game is now proceeding to execute orders.");
     }
 
     /**
      * Placeholder method for handling the execution of orders.
+     *
+     * @param p_context The game whose orders are executed.
      */
-    public static void handleExecuteOrder() {
-        ArrayList<Player> l_existingPlayers = PlayerHolder.getPlayers();
-        int l_totalOrders = 0;
-        for (Player player : l_existingPlayers) {
-            l_totalOrders += player.getOrders().size();
-        }
-        int l_currentOrder = 1;
-        int l_currentPlayerIndex = 0;
-        while (l_currentOrder <= l_totalOrders) {
-            Player l_currentPlayer = l_existingPlayers.get(l_currentPlayerIndex);
+    public static void handleExecuteOrder(GameContext p_context) {
+        TurnScheduler l_scheduler = new TurnScheduler(p_context.getPlayers(), p_player -> p_player.peekOrder() != null);
+        CombatResolver l_resolver = p_context.getCombatResolver();
+        Player l_currentPlayer;
+        while ((l_currentPlayer = l_scheduler.next()) != null) {
             Order l_order = l_currentPlayer.next_order();
-            if (l_order == null) {
-                l_currentPlayerIndex = (l_currentPlayerIndex + 1) % l_existingPlayers.size();
-                continue;
-            }
+            p_context.getOut().println("\nExecuting order for player " + l_currentPlayer.getName() + ": " + l_order);
             switch (l_order.getName()) {
                 case DEPLOY:
-                    System.out.println("\nExecuting order for player " + l_currentPlayer.getName() + ": " + l_order);
-                    l_order.execute();
-                    l_currentOrder++;
+                    l_order.execute(p_context);
+                    break;
+                case ADVANCE:
+                    ((AdvanceOrder) l_order).execute(p_context, l_resolver);
                     break;
             }
-            l_currentPlayerIndex = (l_currentPlayerIndex + 1) % l_existingPlayers.size();
+            if (l_currentPlayer.peekOrder() != null) l_scheduler.requeue(l_currentPlayer);
         }
+        // the battles of the round are fought together once every order has executed
+        l_resolver.resolve(p_context);
         //after all orders are executed. assign reinforcements for next turn.
-        assignReinforcements();
-        resetOrdersStatus();
+        assignReinforcements(p_context);
+        resetOrdersStatus(p_context);
     }
 
     /**
-     * Assigns reinforcements to players based on the number of countries owned.
+     * Assigns reinforcements to players based on the number of countries owned and the continents controlled.
+     *
+     * @param p_context The game whose players receive reinforcements.
      */
-    public static void assignReinforcements() {
-        ArrayList<Player> l_existingPlayer = PlayerHolder.getPlayers();
-        for (Player player : l_existingPlayer) {
-            int l_armyCount = player.getOwnedCountries().size() / 3;
-            if (l_armyCount < MIN_ARMIES_PER_PLAYER) l_armyCount = MIN_ARMIES_PER_PLAYER;
-            player.setNoOfArmies(l_armyCount);
-        }
+    public static void assignReinforcements(GameContext p_context) {
+        p_context.getReinforcementEngine().assignReinforcements();
     }
 
     /**
      * Resets the hasOrders flag for all players after each turn.
+     *
+     * @param p_context The game whose players are reset.
      */
-    private static void resetOrdersStatus() {
-        ArrayList<Player> l_existingPlayer = PlayerHolder.getPlayers();
+    private static void resetOrdersStatus(GameContext p_context) {
+        ArrayList<Player> l_existingPlayer = p_context.getPlayers();
         for (Player player : l_existingPlayer) {
             player.setHasOrders(true);
         }
@@ -4,17 +4,27 @@
  */
 package controllers.GameEngine;
 
+import adapters.CommandJournal.CommandJournal;
+import adapters.GameSnapshot.GameSnapshot;
 import controllers.MapEditor.MapEditor;
+import models.Country.Country;
 import models.Enums.GamePhase;
+import models.GameContext.GameContext;
 import models.Map.Map;
-import models.Map.MapValidator;
-import models.MapHolder.MapHolder;
+import models.OrderSource.Console.ConsoleOrderSource;
+import models.OrderSource.Journaling.JournalingOrderSource;
+import models.OrderSource.OrderSource;
+import models.OrderSource.Scripted.ScriptedOrderSource;
 import models.Player.Player;
-import models.PlayerHolder.PlayerHolder;
 
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.IntConsumer;
 
 import static controllers.CommandHandler.CommandHandler.*;
 import static utils.Feedback.*;
@@ -22,49 +32,314 @@ import static utils.Command.*;
 import static views.MapView.MapView.displayMapInformation;
 
 public class GameEngine {
+    /** Default number of turns between two checkpoints of a journaled game. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10;
     private Scanner d_sc;
     private GamePhase d_currentPhase;
+    private final GameContext d_context;
+    private CommandJournal d_journal;
+    private int d_checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private File d_lastCheckpoint;
+    private int d_replayUntilTurn;
     MapEditor d_mapEditor;
     String d_command;
     ArrayList<Player> d_players = new ArrayList<>();
 
     /**
-     * Initializes the GameEngine with default settings.
+     * Initializes the GameEngine with default settings and a new game.
      */
 
     public GameEngine() {
-        MapHolder.setMap(new Map());
-        this.d_mapEditor = new MapEditor();
+        this(new GameContext());
+    }
+
+    /**
+     * Initializes the GameEngine to play the given game.
+     *
+     * @param p_context The game to play.
+     */
+    public GameEngine(GameContext p_context) {
+        this.d_context = p_context;
+        this.d_mapEditor = new MapEditor(p_context);
         this.d_currentPhase = GamePhase.MAP_EDITING;
-        this.d_sc = new Scanner(System.in);
     }
 
     /**
      * Starts the game and handles command processing based on the current phase.
      */
     public void startGame() {
+        this.d_sc = new Scanner(System.in);
         displayWelcomeMessage();
         while (d_currentPhase != GamePhase.ISSUE_ORDERS) {
             System.out.print("\nEnter your command: ");
-            d_command = d_sc.nextLine().trim();
-            String l_commandName = d_command.split(" ")[0];
-            if (!isCommandValidForPhase(l_commandName, d_currentPhase)) {
-                displayCommandUnavailableMessage(l_commandName, d_currentPhase);
-                continue;
-            }
-            handleCommand();
+            executeSetupCommand(d_sc.nextLine());
         }
         startMainGameLoop();
     }
 
+    /**
+     * Executes a command of the map editing or startup phase, recording it in the journal of
+     * the game, if any, once it is accepted for the current phase.
+     *
+     * @param p_command The command.
+     */
+    public void executeSetupCommand(String p_command) {
+        d_command = p_command.trim();
+        String l_commandName = d_command.split(" ")[0];
+        if (!isCommandValidForPhase(l_commandName, d_currentPhase)) {
+            displayCommandUnavailableMessage(l_commandName, d_currentPhase);
+            return;
+        }
+        if (d_journal != null && !l_commandName.equals("exit")) {
+            try {
+                d_journal.appendSetup(d_command);
+            } catch (IOException e) {
+                System.out.println("\nThe command could not be written to the journal: " + e.getMessage());
+            }
+        }
+        handleCommand();
+    }
+
     /**
      * Starts the main game loop where players issue orders and orders are executed.
      */
     private void startMainGameLoop() {
         while (true) {
-            handleIssueOrder();
-            handleExecuteOrder();
+            playTurn();
+        }
+    }
+
+    /**
+     * Plays turns of a started game until a player owns every country.
+     *
+     * @param p_maxTurns The largest number of turns to play.
+     * @return The number of turns played.
+     */
+    public int playTurns(int p_maxTurns) {
+        return playTurns(p_maxTurns, null);
+    }
+
+    private int playTurns(int p_maxTurns, IntConsumer p_afterTurn) {
+        int l_turns = 0;
+        while (l_turns < p_maxTurns && getWinner() == null) {
+            playTurn();
+            l_turns++;
+            if (p_afterTurn != null) p_afterTurn.accept(l_turns);
+        }
+        return l_turns;
+    }
+
+    /**
+     * Plays a game without console input: the players issue the commands of their order sources
+     * and the output of the game is discarded. The map must already be loaded and valid.
+     * The game ends once a player owns every country or after the given number of turns.
+     *
+     * @param p_players  The players, at least two, with their order sources.
+     * @param p_maxTurns The largest number of turns to play.
+     * @return The number of turns played.
+     */
+    public int runHeadless(ArrayList<Player> p_players, int p_maxTurns) {
+        return runHeadless(p_players, p_maxTurns, null);
+    }
+
+    /**
+     * Plays a game without console input, notifying a listener once the countries are assigned
+     * and after every turn.
+     *
+     * @param p_players   The players, at least two, with their order sources.
+     * @param p_maxTurns  The largest number of turns to play.
+     * @param p_afterTurn Called with the number of turns played so far, 0 before the first turn, or null.
+     * @return The number of turns played.
+     * @see #runHeadless(ArrayList, int)
+     */
+    public int runHeadless(ArrayList<Player> p_players, int p_maxTurns, IntConsumer p_afterTurn) {
+        d_context.setQuiet(true);
+        d_players = p_players;
+        d_context.setPlayers(p_players);
+        assignCountries();
+        assignReinforcements(d_context);
+        d_currentPhase = GamePhase.ISSUE_ORDERS;
+        if (p_afterTurn != null) p_afterTurn.accept(0);
+        return playTurns(p_maxTurns, p_afterTurn);
+    }
+
+    /**
+     * Plays one turn: every player issues orders, then the orders are executed.
+     */
+    private void playTurn() {
+        handleIssueOrder(d_context);
+        handleExecuteOrder(d_context);
+        d_context.setTurn(d_context.getTurn() + 1);
+        journalTurn();
+    }
+
+    /**
+     * Records the end of a turn in the journal and takes a checkpoint when one is due.
+     * Turns replayed from the journal are already recorded.
+     */
+    private void journalTurn() {
+        int l_turn = d_context.getTurn();
+        if (d_journal == null || l_turn <= d_replayUntilTurn) return;
+        try {
+            d_journal.appendTurn(l_turn);
+            if (l_turn % d_checkpointInterval == 0) writeCheckpoint();
+        } catch (IOException e) {
+            System.out.println("\nThe turn could not be written to the journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the game next to the journal and records it. The previous snapshot is
+     * deleted once the journal points to the new one.
+     *
+     * @throws IOException If the snapshot or the journal cannot be written.
+     */
+    private void writeCheckpoint() throws IOException {
+        File l_journalFile = d_journal.getFile().getAbsoluteFile();
+        int l_turn = d_context.getTurn();
+        File l_snapshot = new File(l_journalFile.getParentFile(), l_journalFile.getName() + "." + l_turn + ".snap");
+        GameSnapshot.write(l_snapshot, d_context);
+        d_journal.appendCheckpoint(l_turn, l_snapshot);
+        if (d_lastCheckpoint != null && !d_lastCheckpoint.equals(l_snapshot)) Files.deleteIfExists(d_lastCheckpoint.toPath());
+        d_lastCheckpoint = l_snapshot;
+    }
+
+    /**
+     * Records the commands of this game in a new journal, starting with its seed.
+     *
+     * @param p_journal The journal, empty.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void startJournal(CommandJournal p_journal) throws IOException {
+        this.d_journal = p_journal;
+        p_journal.appendSeed(d_context.getSeed());
+        p_journal.sync();
+    }
+
+    /**
+     * Retrieves the journal the commands of this game are recorded in.
+     *
+     * @return The journal, or null if the game is not journaled.
+     */
+    public CommandJournal getJournal() {
+        return this.d_journal;
+    }
+
+    /**
+     * Sets the number of turns between two checkpoints of a journaled game.
+     *
+     * @param p_checkpointInterval The number of turns, at least 1.
+     */
+    public void setCheckpointInterval(int p_checkpointInterval) {
+        this.d_checkpointInterval = Math.max(1, p_checkpointInterval);
+    }
+
+    /**
+     * Retrieves the number of turns played since the game started.
+     *
+     * @return The number of turns.
+     */
+    public int getTurn() {
+        return d_context.getTurn();
+    }
+
+    /**
+     * Retrieves the current phase of the game.
+     *
+     * @return The phase.
+     */
+    public GamePhase getCurrentPhase() {
+        return this.d_currentPhase;
+    }
+
+    /**
+     * Continues a game restored into the context of this engine, with its players as they are:
+     * players go on issuing orders.
+     */
+    public void resumeGame() {
+        this.d_players = d_context.getPlayers();
+        this.d_currentPhase = GamePhase.ISSUE_ORDERS;
+    }
+
+    /**
+     * Wraps the order sources of the players so that their commands are journaled.
+     */
+    private void journalOrders() {
+        if (d_journal == null) return;
+        for (int i = 0; i < d_players.size(); i++) {
+            Player l_player = d_players.get(i);
+            l_player.setOrderSource(new JournalingOrderSource(l_player.getOrderSource(), d_journal, i));
+        }
+    }
+
+    /**
+     * Rebuilds a game from its journal: the last readable checkpoint is restored, or the setup
+     * commands are replayed if there is none, and the players then replay the commands they issued
+     * since, quietly, before the console takes over. The journal is reopened to record the rest of
+     * the game.
+     *
+     * @param p_journalFile The journal of the game.
+     * @return The engine of the rebuilt game, ready to be started.
+     * @throws IOException If the journal cannot be read or reopened.
+     */
+    public static GameEngine recover(File p_journalFile) throws IOException {
+        CommandJournal.Contents l_contents = CommandJournal.read(p_journalFile);
+        if (l_contents.getSeed() == null) throw new IOException("The journal does not record a game.");
+        GameEngine l_engine = new GameEngine(new GameContext(new Map(), l_contents.getSeed()));
+        boolean l_fromCheckpoint = false;
+        if (l_contents.getCheckpointFile() != null) {
+            File l_snapshot = new File(p_journalFile.getAbsoluteFile().getParentFile(), l_contents.getCheckpointFile());
+            try {
+                GameSnapshot.read(l_snapshot, l_engine.d_context);
+                l_engine.resumeGame();
+                l_engine.d_lastCheckpoint = l_snapshot;
+                l_fromCheckpoint = true;
+            } catch (IOException e) {
+                System.out.println("\nThe checkpoint could not be read, replaying the whole game: " + e.getMessage());
+            }
+        }
+        if (!l_fromCheckpoint) {
+            for (String l_command : l_contents.getSetupCommands()) {
+                l_engine.executeSetupCommand(l_command);
+            }
+        }
+        l_engine.d_replayUntilTurn = l_contents.getTurns();
+        l_engine.d_journal = new CommandJournal(p_journalFile, CommandJournal.DEFAULT_SYNC_INTERVAL);
+        if (l_engine.d_currentPhase == GamePhase.ISSUE_ORDERS) {
+            l_engine.d_context.setQuiet(true);
+            for (int i = 0; i < l_engine.d_players.size(); i++) {
+                OrderSource l_console = new ConsoleOrderSource();
+                OrderSource l_handOver = new JournalingOrderSource((p_player, p_context) -> {
+                    p_context.setQuiet(false);
+                    return l_console.nextCommand(p_player, p_context);
+                }, l_engine.d_journal, i);
+                List<String> l_orders = l_contents.getOrders(i, l_fromCheckpoint);
+                l_engine.d_players.get(i).setOrderSource(new ScriptedOrderSource(l_orders, l_handOver));
+            }
+        }
+        return l_engine;
+    }
+
+    /**
+     * Retrieves the player who owns every country of the map, if any.
+     *
+     * @return The winner, or null while the game is undecided.
+     */
+    public Player getWinner() {
+        int l_countryCount = d_context.getMap().getCountries().size();
+        for (Player l_player : d_context.getPlayers()) {
+            if (l_countryCount > 0 && l_player.getOwnedCount() == l_countryCount) return l_player;
         }
+        return null;
+    }
+
+    /**
+     * Retrieves the game played by this engine.
+     *
+     * @return The game context.
+     */
+    public GameContext getContext() {
+        return this.d_context;
     }
 
     /**
@@ -89,7 +364,7 @@ public class GameEngine {
      * Processes commands during the map editing phase.
      */
     private void processMapEditingPhaseCommand() {
-        Map gameMap = MapHolder.getMap();
+        Map gameMap = d_context.getMap();
         String l_commandName = d_command.split(" ")[0];
         switch (l_commandName) {
             case "loadmap":
@@ -104,14 +379,20 @@ public class GameEngine {
             case "savemap":
                 handleSaveMapCommand(d_command, d_mapEditor);
                 break;
+            case "loadgame":
+                loadGame();
+                break;
             case "showcommands":
                 handleDisplayCommands(d_currentPhase);
                 break;
             case "showmap":
-                displayMapInformation();
+                displayMapInformation(d_context.getMap());
+                break;
+            case "validatemap":
+                handleValidateMapCommand(d_mapEditor);
                 break;
             case "proceed":
-                if (MapValidator.validateMap(gameMap)) {
+                if (d_mapEditor.validateMap(gameMap)) {
                     d_currentPhase = GamePhase.STARTUP;
                     System.out.println("\nYou have entered the Startup Phase. Please create players to proceed further.");
                     System.out.println("Use 'showcommands' to see to see how you can add players");
@@ -136,14 +417,18 @@ public class GameEngine {
                 handleGamePlayerCommand(d_command, d_players);
                 checkStartGamePrompt();
                 break;
+            case "loadgame":
+                loadGame();
+                break;
             case "startgame":
                 if (d_players.size() < 2) {
                     System.out.println("\nMinimum two players required to start the game.");
                 } else {
-                    PlayerHolder.setPlayers(d_players);
+                    d_context.setPlayers(d_players);
                     assignCountries();
-                    assignReinforcements();
+                    assignReinforcements(d_context);
                     System.out.println("\nReinforcements have been assigned to players.");
+                    journalOrders();
                     d_currentPhase = GamePhase.ISSUE_ORDERS;
                     System.out.println("\nThe game has started! It's time to issue your orders.");
                 }
@@ -159,14 +444,29 @@ public class GameEngine {
     }
 
     /**
-     * Randomly assigns countries to players.
+     * Restores the game named by the loadgame command and continues it where it was saved.
+     */
+    private void loadGame() {
+        if (handleLoadGameCommand(d_command, d_context)) {
+            resumeGame();
+            journalOrders();
+            System.out.println("\nThe game has resumed! It's time to issue your orders.");
+        }
+    }
+
+    /**
+     * Randomly assigns countries to players: the countries are shuffled with the random number
+     * generator of the game and dealt to the players in turn, so every player gets the same number
+     * of countries, give or take one.
      */
     private void assignCountries() {
         int l_numPlayers = d_players.size();
-        for (int i = 0; i < MapHolder.getMap().getCountries().size(); i++) {
-            d_players.get(i % l_numPlayers).addOwnedCountry(MapHolder.getMap().getCountries().get(i));
+        ArrayList<Country> l_countries = new ArrayList<>(d_context.getMap().getCountries());
+        d_context.getRandom().shuffle(l_countries);
+        for (int i = 0; i < l_countries.size(); i++) {
+            d_players.get(i % l_numPlayers).addOwnedCountry(l_countries.get(i));
         }
-        System.out.println("\nCountries have been assigned to players.");
+        d_context.getOut().println("\nCountries have been assigned to players.");
     }
 
     /**
@@ -1,15 +1,23 @@
 package controllers.MapEditor;
 
+import adapters.BinaryMapAdapter.BinaryMapAdapter;
+import adapters.FileAdapter.FileAdapter;
+import adapters.MapCache.MapCache;
 import models.Continent.Continent;
 import models.Country.Country;
 import models.Enums.LineType;
+import models.Enums.MapLoadMode;
 import models.Map.Map;
-import models.MapHolder.MapHolder;
+import models.Map.MapValidationState;
+import models.GameContext.GameContext;
+import models.Map.MapValidator;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class MapEditor {
     private BufferedReader READER;
@@ -18,13 +26,43 @@ public class MapEditor {
     private final String BORDERS = "[borders]";
     private Map MAP;
     private HashMap<String, Map> d_mapRegistry = new HashMap<>();
+    private HashMap<String, MapValidationState> d_validationStates = new HashMap<>();
     private String d_currentEditingFilename;
+    /** Files at least this large are memory-mapped when the load mode is AUTO. */
+    public static final long MAPPED_LOAD_THRESHOLD = 1024 * 1024;
+    /** Size of the buffers used when streaming compressed map files. */
+    private static final int COMPRESSED_BUFFER_SIZE = 256 * 1024;
+    private MapLoadMode d_loadMode = MapLoadMode.AUTO;
+    private MapLoadTimings d_lastLoadTimings;
+    private PendingBorders d_pendingBorders;
+    private MapCache d_mapCache;
+    private boolean d_lastLoadCached;
 
     /**
-     * Constructor for MapEditor class.
+     * Constructor for MapEditor class, editing the map of a game of its own.
      */
     public MapEditor() {
-        MAP = MapHolder.getMap();
+        this(new GameContext());
+    }
+
+    /**
+     * Constructor for MapEditor class. Maps are loaded into the map of the given game, through the
+     * map cache of that game.
+     *
+     * @param p_context The game whose map is loaded.
+     */
+    public MapEditor(GameContext p_context) {
+        MAP = p_context.getMap();
+        d_mapCache = p_context.getMapCache();
+    }
+
+    /**
+     * Retrieves the map that map files are loaded into.
+     *
+     * @return The map.
+     */
+    public Map getMap() {
+        return MAP;
     }
 
     public HashMap<String, Map> getMapRegistry() {
@@ -46,21 +84,204 @@ public class MapEditor {
 
     public void setMapInRegistry(String p_filename, Map p_map) {
         this.d_mapRegistry.put(p_filename, p_map);
+        this.d_validationStates.put(p_filename, new MapValidationState(p_map));
+    }
+
+    /**
+     * Validates a map, answering from the validation state kept during editing when the map is
+     * in the registry. A full validation is only run to report why a map is invalid.
+     *
+     * @param p_map The map to validate.
+     * @return true if the map is valid; false otherwise.
+     */
+    public boolean validateMap(Map p_map) {
+        MapValidationState l_state = findValidationState(p_map);
+        if (l_state != null && l_state.isValid()) return true;
+        return MapValidator.validateMap(p_map);
+    }
+
+    /**
+     * Validates the map currently being edited.
+     *
+     * @return true if the map is valid; false otherwise or if no map is being edited.
+     */
+    public boolean validateCurrentMap() {
+        if (d_currentEditingFilename == null || d_currentEditingFilename.isEmpty()) {
+            System.out.println("\nCannot validate map. Please use the 'editmap' command to select the file for editing.");
+            return false;
+        }
+        return validateMap(d_mapRegistry.get(d_currentEditingFilename));
+    }
+
+    private MapValidationState findValidationState(Map p_map) {
+        for (MapValidationState l_state : d_validationStates.values()) {
+            if (l_state.getMap() == p_map) return l_state;
+        }
+        return null;
+    }
+
+    private MapValidationState currentValidationState() {
+        return d_validationStates.get(d_currentEditingFilename);
+    }
+
+    /**
+     * Retrieves the strategy used to read text map files.
+     *
+     * @return The current load mode.
+     */
+    public MapLoadMode getLoadMode() {
+        return this.d_loadMode;
+    }
+
+    /**
+     * Sets the strategy used to read text map files.
+     *
+     * @param p_loadMode The load mode to use.
+     */
+    public void setLoadMode(MapLoadMode p_loadMode) {
+        this.d_loadMode = p_loadMode;
     }
 
     /**
      * Loads a map file and processes its contents.
+     * An unchanged file loaded before is decoded from the map cache instead of being read again.
+     * Binary map files are recognized by their header and decoded directly. Text map files are,
+     * depending on the load mode, either read line by line or memory-mapped and parsed from bytes.
+     * Gzip compressed map files of either format are decompressed as a stream while being parsed.
+     * Files loaded into an empty map are added to the cache.
      *
      * @param p_file The file object representing the map file to be loaded.
      * @throws FileNotFoundException If the specified file is not found.
      * @throws IOException           If an I/O error occurs while reading the file.
      */
     public void loadMap(File p_file) throws FileNotFoundException, IOException {
-        READER = new BufferedReader(new FileReader(p_file));
+        if (!p_file.exists()) throw new FileNotFoundException(p_file.getPath());
+        MapLoadTimings l_cachedTimings = new MapLoadTimings();
+        d_lastLoadCached = d_mapCache != null && d_mapCache.load(p_file, MAP, l_cachedTimings);
+        if (d_lastLoadCached) {
+            d_lastLoadTimings = l_cachedTimings;
+        } else {
+            boolean l_cacheable = d_mapCache != null && MAP.getContinents().isEmpty() && MAP.getCountries().isEmpty();
+            readMapFile(p_file);
+            if (l_cacheable) d_mapCache.put(p_file, MAP);
+        }
+        invalidateValidationState(MAP);
+    }
+
+    /**
+     * Reads a map file into the map, choosing the reader from the file header and the load mode.
+     *
+     * @param p_file The map file.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private void readMapFile(File p_file) throws IOException {
+        if (FileAdapter.isCompressedFile(p_file)) {
+            readCompressedMapFile(p_file);
+            return;
+        }
+        if (BinaryMapAdapter.isBinaryMapFile(p_file)) {
+            MapLoadTimings l_timings = new MapLoadTimings();
+            BinaryMapAdapter.read(p_file, MAP, l_timings);
+            d_lastLoadTimings = l_timings;
+            return;
+        }
+        boolean l_mapped = d_loadMode == MapLoadMode.MAPPED
+                || (d_loadMode == MapLoadMode.AUTO && p_file.length() >= MAPPED_LOAD_THRESHOLD);
+        if (l_mapped) {
+            MappedMapReader l_reader = new MappedMapReader(MAP);
+            l_reader.read(p_file);
+            d_lastLoadTimings = l_reader.getTimings();
+        } else {
+            loadMapBuffered(new BufferedReader(new FileReader(p_file)));
+        }
+    }
+
+    /**
+     * Reads a gzip compressed map file into the map, decompressing it as a stream.
+     * No decompressed copy of the file is written to disk.
+     *
+     * @param p_file The compressed map file.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private void readCompressedMapFile(File p_file) throws IOException {
+        try (BufferedInputStream l_in = new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(p_file), COMPRESSED_BUFFER_SIZE), COMPRESSED_BUFFER_SIZE)) {
+            l_in.mark(BinaryMapAdapter.getHeaderLength());
+            byte[] l_header = l_in.readNBytes(BinaryMapAdapter.getHeaderLength());
+            l_in.reset();
+            if (BinaryMapAdapter.hasBinaryHeader(l_header)) {
+                MapLoadTimings l_timings = new MapLoadTimings();
+                BinaryMapAdapter.decode(l_in.readAllBytes(), MAP, l_timings);
+                d_lastLoadTimings = l_timings;
+            } else {
+                loadMapBuffered(new BufferedReader(new InputStreamReader(l_in, Charset.defaultCharset()), COMPRESSED_BUFFER_SIZE));
+            }
+        }
+    }
+
+    private void invalidateValidationState(Map p_map) {
+        MapValidationState l_state = findValidationState(p_map);
+        if (l_state != null) l_state.invalidate();
+    }
+
+    /**
+     * Retrieves the cache of parsed map files used by this editor.
+     *
+     * @return The map cache, or null if caching is disabled.
+     */
+    public MapCache getMapCache() {
+        return this.d_mapCache;
+    }
+
+    /**
+     * Sets the cache of parsed map files used by this editor.
+     *
+     * @param p_mapCache The map cache, or null to always read map files.
+     */
+    public void setMapCache(MapCache p_mapCache) {
+        this.d_mapCache = p_mapCache;
+    }
+
+    /**
+     * Checks whether the last map loaded was answered from the map cache.
+     *
+     * @return true if the last map was loaded from the cache.
+     */
+    public boolean isLastLoadCached() {
+        return this.d_lastLoadCached;
+    }
+
+    /**
+     * Retrieves the phase timings of the last map file loaded.
+     *
+     * @return The timings of the last load, or null if no map has been loaded.
+     */
+    public MapLoadTimings getLastLoadTimings() {
+        return this.d_lastLoadTimings;
+    }
+
+    /**
+     * Loads a map file line by line through a BufferedReader.
+     * Borders are collected while reading and resolved against the map's ID index
+     * once the whole file has been read.
+     *
+     * @param p_reader The reader of the map file to be loaded; it is closed once read.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private void loadMapBuffered(BufferedReader p_reader) throws IOException {
+        MapLoadTimings l_timings = new MapLoadTimings();
+        d_pendingBorders = new PendingBorders();
+        READER = p_reader;
         String l_line = READER.readLine();
         boolean l_startReading = false;
         LineType l_lineType = LineType.CONTINENT; //initializing to remove error.
+        long l_phaseStart = System.nanoTime();
         while (l_line != null) {
+            if (l_line.startsWith(CONTINENTS) || l_line.startsWith(COUNTRIES) || l_line.startsWith(BORDERS)) {
+                long l_now = System.nanoTime();
+                if (l_startReading) l_timings.add(l_lineType, l_now - l_phaseStart);
+                l_phaseStart = l_now;
+            }
             if (l_line.startsWith(CONTINENTS)) {
                 l_startReading = true;
                 l_lineType = LineType.CONTINENT;
@@ -78,7 +299,13 @@ public class MapEditor {
             }
             l_line = READER.readLine();
         }
-
+        READER.close();
+        if (l_startReading) l_timings.add(l_lineType, System.nanoTime() - l_phaseStart);
+        long l_resolveStart = System.nanoTime();
+        d_pendingBorders.resolve(MAP);
+        l_timings.add(LineType.NEIGHBOR, System.nanoTime() - l_resolveStart);
+        d_pendingBorders = null;
+        d_lastLoadTimings = l_timings;
     }
 
     public void addContinent(String p_continentName, String p_continentValue) {
@@ -89,7 +316,9 @@ public class MapEditor {
         Map l_mapToEdit = d_mapRegistry.get(d_currentEditingFilename);
         Continent l_continent = l_mapToEdit.getContinentByName(p_continentName);
         if (l_continent == null) {
-            l_mapToEdit.addContinent(new Continent(p_continentName, Integer.parseInt(p_continentValue)));
+            Continent l_newContinent = new Continent(p_continentName, Integer.parseInt(p_continentValue));
+            l_mapToEdit.addContinent(l_newContinent);
+            currentValidationState().onContinentAdded(l_newContinent);
             System.out.println("\nContinent '" + p_continentName + "' with value '" + p_continentValue + "' has been successfully added.");
 
         } else {
@@ -110,15 +339,22 @@ public class MapEditor {
             System.out.println("\nError: Continent '" + p_continentName + "' does not exist.");
         } else {
             l_mapToEdit.removeContinent(l_continent);
-            //delete all countries of this continent
-            Iterator<Country> l_iterator = l_mapToEdit.getCountries().iterator();
-            while (l_iterator.hasNext()) {
-                Country l_country = l_iterator.next();
+            //delete all countries of this continent through the map, so their dense indexes are freed
+            ArrayList<Country> l_removed = new ArrayList<>();
+            for (Country l_country : l_mapToEdit.getCountries()) {
                 if (l_country.getContinentID() == l_continent.getID()) {
-                    l_iterator.remove();
+                    l_removed.add(l_country);
                 }
             }
+            for (Country l_country : l_removed) {
+                l_mapToEdit.removeCountry(l_country);
+            }
+            // detach the removed countries so no neighbor list keeps pointing at them
+            for (Country l_country : l_mapToEdit.getCountries()) {
+                l_country.getNeighbours().removeIf(p_neighbor -> !l_mapToEdit.containsCountry(p_neighbor));
+            }
             restructureMapAfterContinentDeletion(l_mapToEdit);
+            currentValidationState().onContinentRemoved(l_continent);
             System.out.println("\nContinent '" + p_continentName + "' has been successfully removed.");
         }
     }
@@ -134,7 +370,9 @@ public class MapEditor {
         if (l_continent == null) {
             System.out.println("\nError: Continent '" + p_continentName + "' does not exists.");
         } else if (l_country == null) {
-            l_mapToEdit.addCountry(new Country(p_countryName, l_continent.getID()));
+            Country l_newCountry = new Country(p_countryName, l_continent.getID());
+            l_mapToEdit.addCountry(l_newCountry);
+            currentValidationState().onCountryAdded(l_newCountry);
             System.out.println("\nCountry '" + p_countryName + "' added to continent '" + p_continentName + "'.");
         } else {
             System.out.println("\nError: Country '" + p_countryName + "' already exists." +
@@ -153,7 +391,15 @@ public class MapEditor {
         if (l_country == null) {
             System.out.println("\nError: Country '" + p_countryName + "' does not exists.");
         } else {
+            MapValidationState l_state = currentValidationState();
+            // detach the country so no neighbor list keeps pointing at it
+            for (Country l_other : l_mapToEdit.getCountries()) {
+                while (l_other.removeNeighbor(l_country)) {
+                    l_state.onNeighborRemoved(l_other, l_country);
+                }
+            }
             l_mapToEdit.removeCountry(l_country);
+            l_state.onCountryRemoved(l_country);
             System.out.println("\nCountry '" + p_countryName + "' removed successfully.");
         }
     }
@@ -172,6 +418,7 @@ public class MapEditor {
             System.out.println("\nError: Neighbor Country '" + p_neighborCountryName + "' does not exists.");
         } else {
             l_country.addNeighbor(l_neighborCountry);
+            currentValidationState().onNeighborAdded(l_country, l_neighborCountry);
             System.out.println("\nThe country '" + p_neighborCountryName + "' has been " +
                     "successfully added to the list of neighbors for the country '" + p_countryName + "'.");
         }
@@ -190,7 +437,9 @@ public class MapEditor {
         } else if (l_neighborCountry == null) {
             System.out.println("\nError: Neighbor Country '" + p_neighborCountryName + "' does not exists.");
         } else {
-            l_country.removeNeighbor(l_neighborCountry);
+            if (l_country.removeNeighbor(l_neighborCountry)) {
+                currentValidationState().onNeighborRemoved(l_country, l_neighborCountry);
+            }
             System.out.println("\nThe country '" + p_neighborCountryName + "' has been " +
                     "successfully removed from the list of neighbors for the country '" + p_countryName + "'.");
         }
@@ -211,6 +460,49 @@ public class MapEditor {
         }
     }
 
+    /**
+     * Saves a map to a file in the compact binary map format.
+     *
+     * @param p_file The file to write.
+     * @param p_map  The map to save.
+     */
+    public void saveMapBinary(File p_file, Map p_map) {
+        try {
+            BinaryMapAdapter.write(p_file, p_map);
+            System.out.println("\nMap successfully saved to the binary file: " + p_file.getName());
+        } catch (IOException e) {
+            System.out.println("\nCould not save the map. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves a map to a gzip compressed file, compressing it as a stream while it is written.
+     *
+     * @param p_file   The file to write.
+     * @param p_map    The map to save.
+     * @param p_binary Whether to save the map in the binary map format rather than as text.
+     */
+    public void saveMapCompressed(File p_file, Map p_map, boolean p_binary) {
+        try (GZIPOutputStream l_out = new GZIPOutputStream(new FileOutputStream(p_file), COMPRESSED_BUFFER_SIZE)) {
+            if (p_binary) {
+                l_out.write(BinaryMapAdapter.encode(p_map));
+            } else {
+                PrintWriter l_pw = new PrintWriter(new BufferedWriter(
+                        new OutputStreamWriter(l_out, Charset.defaultCharset()), COMPRESSED_BUFFER_SIZE));
+                l_pw.println("; map: " + p_file.getName());
+                l_pw.println();
+                writeContinents(l_pw, p_map.getContinents());
+                writeCountriesAndBorders(l_pw, p_map.getCountries());
+                l_pw.flush();
+                if (l_pw.checkError()) throw new IOException("Error writing " + p_file.getName());
+            }
+            l_out.finish();
+            System.out.println("\nMap successfully saved to the compressed file: " + p_file.getName());
+        } catch (IOException e) {
+            System.out.println("\nCould not save the map. " + e.getMessage());
+        }
+    }
+
     private void emptyFile(File p_file) {
         try (PrintWriter pw = new PrintWriter(new FileOutputStream(p_file))) {
             //writing nothing to files make it empty.
@@ -269,7 +561,7 @@ public class MapEditor {
             }
             newID++;
         }
-        Continent.lastAssignedID = newID;
+        p_map.reindex();
     }
 
     private void processMapLine(String p_line, LineType p_lineType) {
@@ -307,14 +599,9 @@ public class MapEditor {
     }
 
     private void processNeighborLine(String[] p_parts) {
-        int l_countryId = Integer.parseInt(p_parts[0]);
-        Country l_country = MAP.getCountryByID(l_countryId);
-        if (l_country == null) return;
+        d_pendingBorders.startLine(Integer.parseInt(p_parts[0]));
         for (int i = 1; i < p_parts.length; i++) {
-            Country l_neighbor = MAP.getCountryByID(Integer.parseInt(p_parts[i]));
-            if (l_neighbor != null) {
-                l_country.addNeighbor(l_neighbor);
-            }
+            d_pendingBorders.addNeighbor(Integer.parseInt(p_parts[i]));
         }
     }
 
@@ -0,0 +1,71 @@
+package controllers.MapEditor;
+
+import models.Enums.LineType;
+
+/**
+ * Records how long each phase of loading a map file took.
+ * The border phase includes resolving the collected borders against the map's country index.
+ */
+public class MapLoadTimings {
+    private long d_continentsNanos;
+    private long d_countriesNanos;
+    private long d_bordersNanos;
+
+    /**
+     * Adds elapsed time to the phase that reads the given type of line.
+     *
+     * @param p_lineType The section being read.
+     * @param p_nanos    The elapsed time in nanoseconds.
+     */
+    public void add(LineType p_lineType, long p_nanos) {
+        switch (p_lineType) {
+            case CONTINENT:
+                d_continentsNanos += p_nanos;
+                break;
+            case COUNTRY:
+                d_countriesNanos += p_nanos;
+                break;
+            case NEIGHBOR:
+                d_bordersNanos += p_nanos;
+                break;
+        }
+    }
+
+    /**
+     * Retrieves the time spent reading continents.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getContinentsNanos() {
+        return this.d_continentsNanos;
+    }
+
+    /**
+     * Retrieves the time spent reading countries.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getCountriesNanos() {
+        return this.d_countriesNanos;
+    }
+
+    /**
+     * Retrieves the time spent reading and resolving borders.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getBordersNanos() {
+        return this.d_bordersNanos;
+    }
+
+    /**
+     * Returns a string representation of the timings in milliseconds.
+     *
+     * @return A string representation of the timings.
+     */
+    @Override
+    public String toString() {
+        return String.format("continents %.2f ms, countries %.2f ms, borders %.2f ms",
+                d_continentsNanos / 1e6, d_countriesNanos / 1e6, d_bordersNanos / 1e6);
+    }
+}
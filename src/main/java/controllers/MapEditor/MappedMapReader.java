@@ -0,0 +1,245 @@
+package controllers.MapEditor;
+
+import models.Continent.Continent;
+import models.Country.Country;
+import models.Enums.LineType;
+import models.Map.Map;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a text map file by memory-mapping it and tokenizing the sections straight from bytes.
+ * No String is created per line; only continent and country names are decoded.
+ * Borders are collected as raw IDs and resolved against the map's ID index after the whole file is read.
+ * The map model is filled exactly as the line based reader in {@link MapEditor} does.
+ */
+public class MappedMapReader {
+    /** Largest region of the file mapped at once. */
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final byte[] CONTINENTS = "[continents]".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COUNTRIES = "[countries]".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BORDERS = "[borders]".getBytes(StandardCharsets.US_ASCII);
+    /** Names are decoded with the same charset the FileReader based loader uses. */
+    private static final Charset NAME_CHARSET = Charset.defaultCharset();
+
+    private final Map d_map;
+    private MappedByteBuffer d_buffer;
+    private byte[] d_nameBuffer = new byte[64];
+    private boolean d_startReading;
+    private LineType d_lineType;
+    private int d_tokenEnd;
+    private PendingBorders d_pendingBorders;
+    private MapLoadTimings d_timings;
+    private long d_phaseStart;
+
+    /**
+     * Constructs a reader that fills the given map.
+     *
+     * @param p_map The map to which continents, countries and borders are added.
+     */
+    public MappedMapReader(Map p_map) {
+        this.d_map = p_map;
+    }
+
+    /**
+     * Maps the file in windows and processes every complete line of each window.
+     *
+     * @param p_file The map file to read.
+     * @throws IOException If the file cannot be mapped or a line does not fit in one window.
+     */
+    public void read(File p_file) throws IOException {
+        d_startReading = false;
+        d_lineType = LineType.CONTINENT;
+        d_pendingBorders = new PendingBorders();
+        d_timings = new MapLoadTimings();
+        d_phaseStart = System.nanoTime();
+        try (FileChannel l_channel = FileChannel.open(p_file.toPath(), StandardOpenOption.READ)) {
+            long l_size = l_channel.size();
+            long l_windowStart = 0;
+            while (l_windowStart < l_size) {
+                long l_windowLength = Math.min(WINDOW_SIZE, l_size - l_windowStart);
+                boolean l_lastWindow = l_windowStart + l_windowLength == l_size;
+                d_buffer = l_channel.map(FileChannel.MapMode.READ_ONLY, l_windowStart, l_windowLength);
+                int l_consumed = processWindow((int) l_windowLength, l_lastWindow);
+                if (l_consumed == 0) {
+                    throw new IOException("Line at offset " + l_windowStart + " is longer than " + WINDOW_SIZE + " bytes.");
+                }
+                l_windowStart += l_consumed;
+            }
+        } finally {
+            d_buffer = null;
+        }
+        if (d_startReading) d_timings.add(d_lineType, System.nanoTime() - d_phaseStart);
+        long l_resolveStart = System.nanoTime();
+        d_pendingBorders.resolve(d_map);
+        d_timings.add(LineType.NEIGHBOR, System.nanoTime() - l_resolveStart);
+        d_pendingBorders = null;
+    }
+
+    /**
+     * Retrieves the phase timings of the last file read.
+     *
+     * @return The timings of the last read, or null if nothing has been read.
+     */
+    public MapLoadTimings getTimings() {
+        return this.d_timings;
+    }
+
+    /**
+     * Processes the complete lines of the current window.
+     * A trailing line cut by the window boundary is left for the next window.
+     *
+     * @param p_limit      Number of bytes in the window.
+     * @param p_lastWindow true if the window ends at the end of the file.
+     * @return The number of bytes consumed.
+     */
+    private int processWindow(int p_limit, boolean p_lastWindow) {
+        int l_pos = 0;
+        while (l_pos < p_limit) {
+            int l_end = l_pos;
+            while (l_end < p_limit && d_buffer.get(l_end) != '\n') l_end++;
+            if (l_end == p_limit && !p_lastWindow) break;
+            processLine(l_pos, l_end);
+            l_pos = l_end + 1;
+        }
+        return Math.min(l_pos, p_limit);
+    }
+
+    private void processLine(int p_start, int p_end) {
+        if (startsWith(p_start, p_end, CONTINENTS) || startsWith(p_start, p_end, COUNTRIES)
+                || startsWith(p_start, p_end, BORDERS)) {
+            long l_now = System.nanoTime();
+            if (d_startReading) d_timings.add(d_lineType, l_now - d_phaseStart);
+            d_phaseStart = l_now;
+        }
+        if (startsWith(p_start, p_end, CONTINENTS)) {
+            d_startReading = true;
+            d_lineType = LineType.CONTINENT;
+        } else if (startsWith(p_start, p_end, COUNTRIES)) {
+            d_startReading = true;
+            d_lineType = LineType.COUNTRY;
+        } else if (startsWith(p_start, p_end, BORDERS)) {
+            d_startReading = true;
+            d_lineType = LineType.NEIGHBOR;
+        } else if (d_startReading) {
+            // skips empty line or comments. comment starts with ;
+            if (isBlank(p_start, p_end) || d_buffer.get(p_start) == ';') return;
+            switch (d_lineType) {
+                case CONTINENT:
+                    processContinentLine(p_start, p_end);
+                    break;
+                case COUNTRY:
+                    processCountryLine(p_start, p_end);
+                    break;
+                case NEIGHBOR:
+                    processNeighborLine(p_start, p_end);
+                    break;
+            }
+        }
+    }
+
+    private void processContinentLine(int p_start, int p_end) {
+        int l_nameStart = nextToken(p_start, p_end);
+        String l_continentName = decode(l_nameStart, d_tokenEnd);
+        int l_bonusStart = nextToken(d_tokenEnd, p_end);
+        int l_armyBonus = parseInt(l_bonusStart, d_tokenEnd);
+        d_map.addContinent(new Continent(l_continentName, l_armyBonus));
+    }
+
+    private void processCountryLine(int p_start, int p_end) {
+        int l_idStart = nextToken(p_start, p_end);
+        int l_countryId = parseInt(l_idStart, d_tokenEnd);
+        int l_nameStart = nextToken(d_tokenEnd, p_end);
+        String l_countryName = decode(l_nameStart, d_tokenEnd);
+        int l_continentStart = nextToken(d_tokenEnd, p_end);
+        int l_continentId = parseInt(l_continentStart, d_tokenEnd);
+        Country l_country = new Country(l_countryId, l_countryName, l_continentId);
+        d_map.addCountry(l_country);
+    }
+
+    private void processNeighborLine(int p_start, int p_end) {
+        int l_idStart = nextToken(p_start, p_end);
+        d_pendingBorders.startLine(parseInt(l_idStart, d_tokenEnd));
+        int l_pos = nextToken(d_tokenEnd, p_end);
+        while (l_pos < p_end) {
+            d_pendingBorders.addNeighbor(parseInt(l_pos, d_tokenEnd));
+            l_pos = nextToken(d_tokenEnd, p_end);
+        }
+    }
+
+    /**
+     * Finds the next token of the line and records where it ends in d_tokenEnd.
+     *
+     * @param p_pos The position from which to search.
+     * @param p_end The end of the line.
+     * @return The start of the token, or p_end if the line has no more tokens.
+     */
+    private int nextToken(int p_pos, int p_end) {
+        int l_start = p_pos;
+        while (l_start < p_end && isSeparator(d_buffer.get(l_start))) l_start++;
+        int l_end = l_start;
+        while (l_end < p_end && !isSeparator(d_buffer.get(l_end))) l_end++;
+        d_tokenEnd = l_end;
+        return l_start;
+    }
+
+    private int parseInt(int p_start, int p_end) {
+        if (p_start == p_end) throw new NumberFormatException("Missing numeric value in map file.");
+        int l_pos = p_start;
+        boolean l_negative = d_buffer.get(l_pos) == '-';
+        if (l_negative || d_buffer.get(l_pos) == '+') l_pos++;
+        if (l_pos == p_end) throw new NumberFormatException("For input string: \"" + decode(p_start, p_end) + "\"");
+        long l_value = 0;
+        for (; l_pos < p_end; l_pos++) {
+            int l_digit = d_buffer.get(l_pos) - '0';
+            if (l_digit < 0 || l_digit > 9) {
+                throw new NumberFormatException("For input string: \"" + decode(p_start, p_end) + "\"");
+            }
+            l_value = l_value * 10 + l_digit;
+            if (l_value > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException("For input string: \"" + decode(p_start, p_end) + "\"");
+            }
+        }
+        l_value = l_negative ? -l_value : l_value;
+        if (l_value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + decode(p_start, p_end) + "\"");
+        }
+        return (int) l_value;
+    }
+
+    private String decode(int p_start, int p_end) {
+        int l_length = p_end - p_start;
+        if (l_length > d_nameBuffer.length) d_nameBuffer = new byte[Math.max(l_length, d_nameBuffer.length * 2)];
+        d_buffer.get(p_start, d_nameBuffer, 0, l_length);
+        return new String(d_nameBuffer, 0, l_length, NAME_CHARSET);
+    }
+
+    private boolean startsWith(int p_start, int p_end, byte[] p_prefix) {
+        if (p_end - p_start < p_prefix.length) return false;
+        for (int i = 0; i < p_prefix.length; i++) {
+            if (d_buffer.get(p_start + i) != p_prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private boolean isBlank(int p_start, int p_end) {
+        for (int i = p_start; i < p_end; i++) {
+            if (!isWhitespace(d_buffer.get(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(byte p_byte) {
+        return p_byte == ' ' || p_byte == '\t' || p_byte == '\r';
+    }
+
+    private static boolean isWhitespace(byte p_byte) {
+        return p_byte == ' ' || p_byte == '\t' || p_byte == '\r' || p_byte == '\f' || p_byte == 0x0B;
+    }
+}
@@ -0,0 +1,70 @@
+package controllers.MapEditor;
+
+import models.Country.Country;
+import models.Map.Map;
+
+import java.util.Arrays;
+
+/**
+ * Collects the border lines of a map file as raw country IDs so they can be resolved
+ * in a second pass, once every country of the file is known.
+ * Each line is stored in a flat int array as: country ID, neighbor count, neighbor IDs.
+ */
+public class PendingBorders {
+    private int[] d_entries = new int[1024];
+    private int d_size;
+    private int d_lineStart = -1;
+
+    /**
+     * Starts a new border line.
+     *
+     * @param p_countryID The ID of the country whose neighbors follow.
+     */
+    public void startLine(int p_countryID) {
+        ensureCapacity(2);
+        d_lineStart = d_size;
+        d_entries[d_size++] = p_countryID;
+        d_entries[d_size++] = 0;
+    }
+
+    /**
+     * Adds a neighbor ID to the current border line.
+     *
+     * @param p_neighborID The ID of the neighboring country.
+     */
+    public void addNeighbor(int p_neighborID) {
+        ensureCapacity(1);
+        d_entries[d_size++] = p_neighborID;
+        d_entries[d_lineStart + 1]++;
+    }
+
+    /**
+     * Links every collected border line to the countries of the map, looked up through its ID index.
+     * Lines whose country is unknown and neighbors that are unknown are skipped.
+     *
+     * @param p_map The map holding the countries.
+     */
+    public void resolve(Map p_map) {
+        int l_pos = 0;
+        while (l_pos < d_size) {
+            Country l_country = p_map.getCountryByID(d_entries[l_pos]);
+            int l_count = d_entries[l_pos + 1];
+            l_pos += 2;
+            if (l_country != null) {
+                for (int i = l_pos; i < l_pos + l_count; i++) {
+                    Country l_neighbor = p_map.getCountryByID(d_entries[i]);
+                    if (l_neighbor != null) {
+                        l_country.addNeighbor(l_neighbor);
+                    }
+                }
+            }
+            l_pos += l_count;
+        }
+    }
+
+    private void ensureCapacity(int p_extra) {
+        if (d_size + p_extra > d_entries.length) {
+            d_entries = Arrays.copyOf(d_entries, Math.max(d_size + p_extra, d_entries.length * 2));
+        }
+    }
+}
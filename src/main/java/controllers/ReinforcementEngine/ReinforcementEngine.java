@@ -0,0 +1,142 @@
+package controllers.ReinforcementEngine;
+
+import models.Continent.Continent;
+import models.Country.Country;
+import models.Map.Map;
+import models.Player.OwnershipListener;
+import models.Player.Player;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Computes the reinforcements of the players of a game.
+ * A player receives a third of their countries, at least {@link #MIN_ARMIES_PER_PLAYER}, plus the
+ * army bonus of every continent they fully control. The engine listens to ownership changes and
+ * keeps, for every player and continent, the number of countries of the continent the player owns,
+ * along with each player's total continent bonus, so reinforcements are known in constant time
+ * and assigning them costs time proportional to the number of players.
+ * The continents and their sizes are taken from the map when the engine is created.
+ */
+public class ReinforcementEngine implements OwnershipListener {
+    /** Smallest number of armies a player receives each turn. */
+    public static final int MIN_ARMIES_PER_PLAYER = 3;
+
+    private final List<Player> d_players;
+    private final IdentityHashMap<Player, Integer> d_playerSlots;
+    private final HashMap<Integer, Integer> d_continentSlots;
+    private final int[] d_continentSizes;
+    private final int[] d_armyBonuses;
+    private final int[][] d_ownedPerContinent;
+    private final int[] d_continentBonuses;
+
+    /**
+     * Creates an engine for the given players, counts the countries they already own and starts
+     * listening to their ownership changes.
+     *
+     * @param p_map     The map of the game.
+     * @param p_players The players of the game.
+     */
+    public ReinforcementEngine(Map p_map, List<Player> p_players) {
+        List<Continent> l_continents = p_map.getContinents();
+        this.d_continentSlots = new HashMap<>(l_continents.size() * 2);
+        this.d_continentSizes = new int[l_continents.size()];
+        this.d_armyBonuses = new int[l_continents.size()];
+        for (Continent l_continent : l_continents) {
+            int l_slot = d_continentSlots.size();
+            if (d_continentSlots.putIfAbsent(l_continent.getID(), l_slot) == null) {
+                d_armyBonuses[l_slot] = l_continent.getArmyBonus();
+            }
+        }
+        for (Country l_country : p_map.getCountries()) {
+            Integer l_slot = d_continentSlots.get(l_country.getContinentID());
+            if (l_slot != null) d_continentSizes[l_slot]++;
+        }
+
+        this.d_players = p_players;
+        this.d_playerSlots = new IdentityHashMap<>(p_players.size());
+        this.d_ownedPerContinent = new int[p_players.size()][l_continents.size()];
+        this.d_continentBonuses = new int[p_players.size()];
+        for (Player l_player : p_players) {
+            d_playerSlots.put(l_player, d_playerSlots.size());
+            l_player.setOwnershipListener(this);
+            for (Country l_country : l_player.getOwnedCountries()) {
+                countryGained(l_player, l_country);
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the ownership changes of the players.
+     */
+    public void detach() {
+        for (Player l_player : d_players) {
+            if (l_player.getOwnershipListener() == this) l_player.setOwnershipListener(null);
+        }
+    }
+
+    @Override
+    public void countryGained(Player p_player, Country p_country) {
+        Integer l_playerSlot = d_playerSlots.get(p_player);
+        Integer l_continentSlot = d_continentSlots.get(p_country.getContinentID());
+        if (l_playerSlot == null || l_continentSlot == null) return;
+        if (++d_ownedPerContinent[l_playerSlot][l_continentSlot] == d_continentSizes[l_continentSlot]) {
+            d_continentBonuses[l_playerSlot] += d_armyBonuses[l_continentSlot];
+        }
+    }
+
+    @Override
+    public void countryLost(Player p_player, Country p_country) {
+        Integer l_playerSlot = d_playerSlots.get(p_player);
+        Integer l_continentSlot = d_continentSlots.get(p_country.getContinentID());
+        if (l_playerSlot == null || l_continentSlot == null) return;
+        if (d_ownedPerContinent[l_playerSlot][l_continentSlot]-- == d_continentSizes[l_continentSlot]) {
+            d_continentBonuses[l_playerSlot] -= d_armyBonuses[l_continentSlot];
+        }
+    }
+
+    /**
+     * Checks whether a player owns every country of a continent.
+     *
+     * @param p_player      The player.
+     * @param p_continentID The ID of the continent.
+     * @return True if the player controls the continent; false for an unknown or empty continent.
+     */
+    public boolean controlsContinent(Player p_player, int p_continentID) {
+        Integer l_playerSlot = d_playerSlots.get(p_player);
+        Integer l_continentSlot = d_continentSlots.get(p_continentID);
+        if (l_playerSlot == null || l_continentSlot == null || d_continentSizes[l_continentSlot] == 0) return false;
+        return d_ownedPerContinent[l_playerSlot][l_continentSlot] == d_continentSizes[l_continentSlot];
+    }
+
+    /**
+     * Retrieves the sum of the army bonuses of the continents a player controls.
+     *
+     * @param p_player The player.
+     * @return The continent bonus, or 0 for a player of another game.
+     */
+    public int getContinentBonus(Player p_player) {
+        Integer l_playerSlot = d_playerSlots.get(p_player);
+        return l_playerSlot == null ? 0 : d_continentBonuses[l_playerSlot];
+    }
+
+    /**
+     * Computes the reinforcements of a player.
+     *
+     * @param p_player The player.
+     * @return The number of armies the player receives.
+     */
+    public int getReinforcements(Player p_player) {
+        return Math.max(MIN_ARMIES_PER_PLAYER, p_player.getOwnedCount() / 3) + getContinentBonus(p_player);
+    }
+
+    /**
+     * Gives every player their reinforcements for the next turn.
+     */
+    public void assignReinforcements() {
+        for (Player l_player : d_players) {
+            l_player.setNoOfArmies(getReinforcements(l_player));
+        }
+    }
+}
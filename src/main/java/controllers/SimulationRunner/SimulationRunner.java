@@ -0,0 +1,127 @@
+package controllers.SimulationRunner;
+
+import adapters.BinaryMapAdapter.BinaryMapAdapter;
+import controllers.GameEngine.GameEngine;
+import models.GameContext.GameContext;
+import models.GameContext.GameRandom;
+import models.Map.Map;
+import models.OrderSource.OrderSource;
+import models.Player.Player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs batches of independent headless games on a thread pool and aggregates their outcomes.
+ * The map is encoded once in the binary map format and every game decodes its own copy, so games
+ * share no mutable state. Each game gets its own seed, drawn from the seed of the batch, and the
+ * outcomes are merged in game order, so a batch gives the same statistics for the same seed
+ * whatever the number of threads.
+ */
+public class SimulationRunner {
+    private final byte[] d_mapSnapshot;
+    private final List<Supplier<OrderSource>> d_strategies;
+    private final int d_threads;
+
+    /**
+     * Creates a runner.
+     *
+     * @param p_map        The map every game is played on; later changes to it are not seen.
+     * @param p_strategies One supplier of order sources per player slot, called once per game.
+     * @param p_threads    The number of games played at the same time.
+     */
+    public SimulationRunner(Map p_map, List<Supplier<OrderSource>> p_strategies, int p_threads) {
+        if (p_strategies.size() < 2) throw new IllegalArgumentException("A game needs at least two players.");
+        this.d_mapSnapshot = BinaryMapAdapter.encode(p_map);
+        this.d_strategies = new ArrayList<>(p_strategies);
+        this.d_threads = Math.max(1, p_threads);
+    }
+
+    /**
+     * Plays a batch of games and aggregates their outcomes.
+     *
+     * @param p_games    The number of games to play.
+     * @param p_seed     The seed the seeds of the games are drawn from.
+     * @param p_maxTurns The largest number of turns of each game.
+     * @return The statistics of the batch.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the games.
+     */
+    public SimulationStats run(int p_games, long p_seed, int p_maxTurns) throws InterruptedException {
+        GameRandom l_seeds = new GameRandom(p_seed);
+        SimulationStats l_stats = new SimulationStats(d_strategies.size(), p_maxTurns);
+        ExecutorService l_pool = Executors.newFixedThreadPool(d_threads);
+        try {
+            ArrayList<Future<GameResult>> l_results = new ArrayList<>(p_games);
+            for (int i = 0; i < p_games; i++) {
+                long l_gameSeed = l_seeds.nextLong();
+                l_results.add(l_pool.submit(() -> playGame(l_gameSeed, p_maxTurns)));
+            }
+            for (int i = 0; i < p_games; i++) {
+                GameResult l_result = l_results.get(i).get();
+                // drop the reference so finished games can be collected while the batch runs
+                l_results.set(i, null);
+                l_stats.add(l_result.d_turns, l_result.d_winner, l_result.d_territory);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulated game failed.", e.getCause());
+        } finally {
+            l_pool.shutdownNow();
+        }
+        return l_stats;
+    }
+
+    /**
+     * Plays one game on a fresh copy of the map.
+     *
+     * @param p_seed     The seed of the game.
+     * @param p_maxTurns The largest number of turns.
+     * @return The outcome of the game.
+     */
+    private GameResult playGame(long p_seed, int p_maxTurns) {
+        Map l_map = new Map();
+        try {
+            BinaryMapAdapter.decode(d_mapSnapshot, l_map, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ArrayList<Player> l_players = new ArrayList<>(d_strategies.size());
+        for (int i = 0; i < d_strategies.size(); i++) {
+            l_players.add(new Player("Player" + (i + 1), d_strategies.get(i).get()));
+        }
+        GameEngine l_engine = new GameEngine(new GameContext(l_map, p_seed));
+        int l_playerCount = l_players.size();
+        int[] l_territory = new int[(p_maxTurns + 1) * l_playerCount];
+        int l_turns = l_engine.runHeadless(l_players, p_maxTurns,
+                p_turn -> recordTerritory(l_players, l_territory, p_turn));
+        Player l_winner = l_engine.getWinner();
+        return new GameResult(l_turns, l_winner == null ? -1 : l_players.indexOf(l_winner), l_territory);
+    }
+
+    private static void recordTerritory(ArrayList<Player> p_players, int[] p_territory, int p_turn) {
+        for (int i = 0; i < p_players.size(); i++) {
+            p_territory[p_turn * p_players.size() + i] = p_players.get(i).getOwnedCount();
+        }
+    }
+
+    /**
+     * Outcome of one game.
+     */
+    private static class GameResult {
+        private final int d_turns;
+        private final int d_winner;
+        private final int[] d_territory;
+
+        GameResult(int p_turns, int p_winner, int[] p_territory) {
+            this.d_turns = p_turns;
+            this.d_winner = p_winner;
+            this.d_territory = p_territory;
+        }
+    }
+}
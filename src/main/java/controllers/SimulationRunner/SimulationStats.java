@@ -0,0 +1,162 @@
+package controllers.SimulationRunner;
+
+/**
+ * Aggregate statistics of a batch of simulated games.
+ * Players are identified by their slot, the position of their strategy in the runner.
+ * Territory is averaged, for each turn, over the games still running at the end of that turn.
+ */
+public class SimulationStats {
+    private final int d_playerCount;
+    private final int[] d_wins;
+    private final long[][] d_territorySums;
+    private final int[] d_gamesAtTurn;
+    private int d_games;
+    private int d_undecided;
+    private long d_turnsToWinSum;
+    private int d_minTurnsToWin = Integer.MAX_VALUE;
+    private int d_maxTurnsToWin;
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param p_playerCount The number of players in each game.
+     * @param p_maxTurns    The largest number of turns a game may last.
+     */
+    SimulationStats(int p_playerCount, int p_maxTurns) {
+        this.d_playerCount = p_playerCount;
+        this.d_wins = new int[p_playerCount];
+        this.d_territorySums = new long[p_maxTurns + 1][p_playerCount];
+        this.d_gamesAtTurn = new int[p_maxTurns + 1];
+    }
+
+    /**
+     * Adds the outcome of one game.
+     *
+     * @param p_turns      The number of turns played.
+     * @param p_winner     The slot of the winner, or -1 if the game was undecided.
+     * @param p_territory  The countries owned by each slot after each turn, turn 0 being the start,
+     *                     flattened turn by turn.
+     */
+    void add(int p_turns, int p_winner, int[] p_territory) {
+        d_games++;
+        if (p_winner < 0) {
+            d_undecided++;
+        } else {
+            d_wins[p_winner]++;
+            d_turnsToWinSum += p_turns;
+            d_minTurnsToWin = Math.min(d_minTurnsToWin, p_turns);
+            d_maxTurnsToWin = Math.max(d_maxTurnsToWin, p_turns);
+        }
+        for (int l_turn = 0; l_turn <= p_turns; l_turn++) {
+            d_gamesAtTurn[l_turn]++;
+            for (int l_slot = 0; l_slot < d_playerCount; l_slot++) {
+                d_territorySums[l_turn][l_slot] += p_territory[l_turn * d_playerCount + l_slot];
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of games played.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return this.d_games;
+    }
+
+    /**
+     * Retrieves the number of games won by a player slot.
+     *
+     * @param p_slot The player slot.
+     * @return The number of wins.
+     */
+    public int getWins(int p_slot) {
+        return this.d_wins[p_slot];
+    }
+
+    /**
+     * Retrieves the fraction of games won by a player slot.
+     *
+     * @param p_slot The player slot.
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate(int p_slot) {
+        return d_games == 0 ? 0 : (double) d_wins[p_slot] / d_games;
+    }
+
+    /**
+     * Retrieves the number of games that reached the turn limit without a winner.
+     *
+     * @return The number of undecided games.
+     */
+    public int getUndecided() {
+        return this.d_undecided;
+    }
+
+    /**
+     * Retrieves the average number of turns of the games that were won.
+     *
+     * @return The average turns to win, or 0 if no game was won.
+     */
+    public double getAverageTurnsToWin() {
+        int l_won = d_games - d_undecided;
+        return l_won == 0 ? 0 : (double) d_turnsToWinSum / l_won;
+    }
+
+    /**
+     * Retrieves the fewest turns a game was won in.
+     *
+     * @return The fewest turns to win, or 0 if no game was won.
+     */
+    public int getMinTurnsToWin() {
+        return d_games == d_undecided ? 0 : d_minTurnsToWin;
+    }
+
+    /**
+     * Retrieves the most turns a game was won in.
+     *
+     * @return The most turns to win, or 0 if no game was won.
+     */
+    public int getMaxTurnsToWin() {
+        return this.d_maxTurnsToWin;
+    }
+
+    /**
+     * Retrieves the average number of countries a player slot owned after a turn.
+     *
+     * @param p_turn The turn, 0 being the start of the game.
+     * @param p_slot The player slot.
+     * @return The average territory over the games still running after that turn, or 0 if none was.
+     */
+    public double getAverageTerritory(int p_turn, int p_slot) {
+        if (p_turn >= d_gamesAtTurn.length || d_gamesAtTurn[p_turn] == 0) return 0;
+        return (double) d_territorySums[p_turn][p_slot] / d_gamesAtTurn[p_turn];
+    }
+
+    /**
+     * Retrieves the number of games still running after a turn.
+     *
+     * @param p_turn The turn, 0 being the start of the game.
+     * @return The number of games.
+     */
+    public int getGamesAtTurn(int p_turn) {
+        return p_turn < d_gamesAtTurn.length ? d_gamesAtTurn[p_turn] : 0;
+    }
+
+    /**
+     * Returns a summary of the statistics.
+     *
+     * @return A string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder l_summary = new StringBuilder();
+        l_summary.append(d_games).append(" games, ").append(d_undecided).append(" undecided");
+        for (int l_slot = 0; l_slot < d_playerCount; l_slot++) {
+            l_summary.append(String.format(", player %d won %.1f%%", l_slot + 1, getWinRate(l_slot) * 100));
+        }
+        l_summary.append(String.format(", turns to win avg %.1f min %d max %d",
+                getAverageTurnsToWin(), getMinTurnsToWin(), getMaxTurnsToWin()));
+        return l_summary.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package controllers.TurnScheduler;
+
+import models.Player.Player;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Round-robin ready queue of the players still taking part in a phase of a turn.
+ * The player at the head of the queue acts next. A player who acted is either sent to the back
+ * of the queue, kept at the head to act again, or left out, which removes them in constant time,
+ * so a whole phase costs time proportional to the number of actions rather than to the number
+ * of actions times the number of players.
+ */
+public class TurnScheduler {
+    private final ArrayDeque<Player> d_ready;
+
+    /**
+     * Creates a queue of the given players who are ready, in their order.
+     *
+     * @param p_players The players of the game.
+     * @param p_isReady Tells whether a player takes part in the phase.
+     */
+    public TurnScheduler(Collection<Player> p_players, Predicate<Player> p_isReady) {
+        this.d_ready = new ArrayDeque<>(p_players.size());
+        for (Player l_player : p_players) {
+            if (p_isReady.test(l_player)) d_ready.addLast(l_player);
+        }
+    }
+
+    /**
+     * Removes the player whose turn it is from the queue.
+     *
+     * @return The next player, or null once every player is done.
+     */
+    public Player next() {
+        return d_ready.pollFirst();
+    }
+
+    /**
+     * Sends a player who acted to the back of the queue.
+     *
+     * @param p_player The player.
+     */
+    public void requeue(Player p_player) {
+        d_ready.addLast(p_player);
+    }
+
+    /**
+     * Puts a player back at the head of the queue, so that they act again before anyone else.
+     *
+     * @param p_player The player.
+     */
+    public void retry(Player p_player) {
+        d_ready.addFirst(p_player);
+    }
+
+    /**
+     * Checks whether every player is done.
+     *
+     * @return true if no player is left in the queue.
+     */
+    public boolean isEmpty() {
+        return d_ready.isEmpty();
+    }
+
+    /**
+     * Retrieves the number of players still in the queue.
+     *
+     * @return The number of ready players, not counting one taken with {@link #next()}.
+     */
+    public int size() {
+        return d_ready.size();
+    }
+}
@@ -4,22 +4,22 @@ package models.Continent;
  * Represents a continent in a game map.
  */
 public class Continent {
+    /** ID of a continent that has not been added to a map yet; IDs handed out by maps are positive. */
+    public static final int NO_ID = 0;
     private int d_id;
-    public static int lastAssignedID=1;
     private String d_name;
     private int d_armyBonus;
 
     /**
-     * Constructs a new continent.
+     * Constructs a new continent. Its ID is assigned when it is added to a map.
      *
      * @param new_name     The name of the continent.
      * @param new_armyBonus The army bonus provided by controlling the entire continent.
      */
     public Continent(String new_name, int new_armyBonus) {
-        this.d_id=lastAssignedID;
+        this.d_id = NO_ID;
         this.d_name = new_name;
         this.d_armyBonus = new_armyBonus;
-        lastAssignedID++;
     }
     /**
      * Retrieves the ID of the continent.
@@ -1,16 +1,23 @@
 package models.Country;
 
+import models.Player.Player;
+
 import java.util.ArrayList;
-import static utils.Helpers.*;
+
 /**
  * Represents a country in a game map.
  */
 public class Country {
+    /** ID of a country that has not been added to a map yet; IDs handed out by maps are positive. */
+    public static final int NO_ID = 0;
     private int d_id;
     private String d_name;
     private int d_continentId;
     private ArrayList<Country> d_neighbours;
     private int d_armiesDeployed;
+    private int d_index = -1;
+    private Player d_owner;
+    private int d_ownerSlot = -1;
 
     /**
      * Constructs a new country.
@@ -27,13 +34,13 @@ public class Country {
         this.d_armiesDeployed= 0;
     }
     /**
-     * Constructs a new country.
+     * Constructs a new country. Its ID is assigned when it is added to a map.
      *
      * @param new_name       The name of the country.
      * @param new_continentId The ID of the continent to which the country belongs.
      */
     public Country(String new_name, int new_continentId) {
-        this.d_id = generateUniqueID();
+        this.d_id = NO_ID;
         this.d_name = new_name;
         this.d_continentId = new_continentId;
         this.d_neighbours = new ArrayList<>();
@@ -48,6 +55,56 @@ public class Country {
     public int getID() {
         return this.d_id;
     }
+    /**
+     * Retrieves the dense index of the country in the map that holds it.
+     * Unlike the ID, the index is assigned by the map, is never larger than the number of countries
+     * the map has held at once, and can be used to address arrays.
+     *
+     * @return The dense index, or -1 if the country is in no map.
+     */
+    public int getIndex() {
+        return this.d_index;
+    }
+
+    /**
+     * Sets the dense index of the country. Only the map holding the country assigns it.
+     *
+     * @param p_index The dense index, or -1 when the country leaves the map.
+     */
+    public void setIndex(int p_index) {
+        this.d_index = p_index;
+    }
+
+    /**
+     * Retrieves the player who owns the country.
+     *
+     * @return The owner, or null if no player owns the country.
+     */
+    public Player getOwner() {
+        return this.d_owner;
+    }
+
+    /**
+     * Retrieves the position of the country in the list of countries of its owner.
+     *
+     * @return The position, or -1 if no player owns the country.
+     */
+    public int getOwnerSlot() {
+        return this.d_ownerSlot;
+    }
+
+    /**
+     * Sets the owner of the country and its position in the owner's list.
+     * Only the owning player assigns it; use {@link Player#addOwnedCountry(Country)} to change owners.
+     *
+     * @param p_owner The owner, or null when the country is released.
+     * @param p_slot  The position in the owner's list, or -1 when the country is released.
+     */
+    public void setOwner(Player p_owner, int p_slot) {
+        this.d_owner = p_owner;
+        this.d_ownerSlot = p_slot;
+    }
+
     /**
      * Retrieves the armies deployed of the country.
      *
@@ -129,13 +186,23 @@ public class Country {
         this.d_neighbours.add(p_neighbor);
     }
 
+    /**
+     * Presizes the list of neighbours for the given number of neighbours.
+     *
+     * @param p_capacity The number of neighbours expected.
+     */
+    public void ensureNeighborCapacity(int p_capacity) {
+        this.d_neighbours.ensureCapacity(p_capacity);
+    }
+
     /**
      * Removes a neighbouring country from the list of neighbours.
      *
      * @param p_neighbor The neighbouring country to remove.
+     * @return true if the country was a neighbour.
      */
-    public void removeNeighbor(Country p_neighbor) {
-        this.d_neighbours.remove(p_neighbor);
+    public boolean removeNeighbor(Country p_neighbor) {
+        return this.d_neighbours.remove(p_neighbor);
     }
 
     /**
@@ -0,0 +1,10 @@
+package models.Enums;
+
+/**
+ * Enum representing the strategies available for reading a text map file.
+ */
+public enum MapLoadMode {
+    BUFFERED, // Line by line through a BufferedReader
+    MAPPED,   // Memory-mapped and tokenized straight from bytes
+    AUTO      // Memory-mapped for large files, buffered otherwise
+}
@@ -4,5 +4,6 @@ package models.Enums;
  * Enum representing the types of orders in the game for each player.
  */
 public enum OrderType {
-    DEPLOY;
+    DEPLOY,
+    ADVANCE;
 }
@@ -0,0 +1,227 @@
+package models.GameContext;
+
+import adapters.MapCache.MapCache;
+import controllers.CombatResolver.CombatResolver;
+import controllers.ReinforcementEngine.ReinforcementEngine;
+import models.Map.Map;
+import models.Player.Player;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Holds the state of one game: its map, its players, its random number generator, its cache of
+ * parsed map files and where its output goes.
+ * The map also owns the ID allocators of its countries and continents.
+ * A context is passed explicitly to the code that needs it, so several independent games can be
+ * hosted in one process as long as each game is driven by one thread at a time.
+ */
+public class GameContext {
+    private Map d_map;
+    private ArrayList<Player> d_players;
+    private final long d_seed;
+    private final GameRandom d_random;
+    private final GameRandom d_strategyRandom;
+    private boolean d_quiet;
+    private int d_turn;
+    private ReinforcementEngine d_reinforcementEngine;
+    private final CombatResolver d_combatResolver = new CombatResolver();
+    private MapCache d_mapCache = new MapCache(MapCache.DEFAULT_MAX_BYTES);
+    /** Distinguishes the seed of the strategy generator from the seed of the game. */
+    private static final long STRATEGY_STREAM = 0x6A09E667F3BCC909L;
+    private static final PrintStream QUIET_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Creates the context of a game with an empty map, no players and a random seed.
+     */
+    public GameContext() {
+        this(new Map(), new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates the context of a game played on the given map, with no players and a random seed.
+     *
+     * @param p_map The map of the game.
+     */
+    public GameContext(Map p_map) {
+        this(p_map, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates the context of a game played on the given map, with no players.
+     * Games created with the same seed draw the same random numbers.
+     *
+     * @param p_map  The map of the game.
+     * @param p_seed The seed of the random number generator.
+     */
+    public GameContext(Map p_map, long p_seed) {
+        this.d_map = p_map;
+        this.d_players = new ArrayList<>();
+        this.d_seed = p_seed;
+        this.d_random = new GameRandom(p_seed);
+        this.d_strategyRandom = new GameRandom(p_seed ^ STRATEGY_STREAM);
+    }
+
+    /**
+     * Retrieves the map of the game.
+     *
+     * @return The map.
+     */
+    public Map getMap() {
+        return this.d_map;
+    }
+
+    /**
+     * Sets the map of the game.
+     *
+     * @param p_map The map to set.
+     */
+    public void setMap(Map p_map) {
+        this.d_map = p_map;
+        resetReinforcementEngine();
+    }
+
+    /**
+     * Retrieves the players of the game.
+     *
+     * @return The list of players.
+     */
+    public ArrayList<Player> getPlayers() {
+        return this.d_players;
+    }
+
+    /**
+     * Sets the players of the game.
+     *
+     * @param p_players The list of players to set.
+     */
+    public void setPlayers(ArrayList<Player> p_players) {
+        this.d_players = p_players;
+        resetReinforcementEngine();
+    }
+
+    /**
+     * Retrieves the reinforcement engine of the game, creating it from the current map and players
+     * on first use. Setting the map or the players discards it.
+     *
+     * @return The reinforcement engine.
+     */
+    public ReinforcementEngine getReinforcementEngine() {
+        if (this.d_reinforcementEngine == null) {
+            this.d_reinforcementEngine = new ReinforcementEngine(d_map, d_players);
+        }
+        return this.d_reinforcementEngine;
+    }
+
+    /**
+     * Retrieves the combat resolver of the game, reused from one execution round to the next.
+     *
+     * @return The combat resolver.
+     */
+    public CombatResolver getCombatResolver() {
+        return this.d_combatResolver;
+    }
+
+    /**
+     * Retrieves the cache of parsed map files the map editors of the game load through.
+     *
+     * @return The map cache, or null if caching is disabled.
+     */
+    public MapCache getMapCache() {
+        return this.d_mapCache;
+    }
+
+    /**
+     * Sets the cache of parsed map files of the game, for example to share one cache between
+     * games or to disable caching. Map editors created afterwards use it.
+     *
+     * @param p_mapCache The map cache, or null to always read map files.
+     */
+    public void setMapCache(MapCache p_mapCache) {
+        this.d_mapCache = p_mapCache;
+    }
+
+    private void resetReinforcementEngine() {
+        if (this.d_reinforcementEngine == null) return;
+        this.d_reinforcementEngine.detach();
+        this.d_reinforcementEngine = null;
+    }
+
+    /**
+     * Retrieves the number of turns played.
+     *
+     * @return The number of turns.
+     */
+    public int getTurn() {
+        return this.d_turn;
+    }
+
+    /**
+     * Sets the number of turns played.
+     *
+     * @param p_turn The number of turns.
+     */
+    public void setTurn(int p_turn) {
+        this.d_turn = p_turn;
+    }
+
+    /**
+     * Retrieves the seed the random number generator was created with.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return this.d_seed;
+    }
+
+    /**
+     * Retrieves the stream game messages are printed to.
+     * It is the current System.out unless the game is quiet, in which case output is discarded.
+     *
+     * @return The output stream of the game.
+     */
+    public PrintStream getOut() {
+        return d_quiet ? QUIET_OUT : System.out;
+    }
+
+    /**
+     * Checks whether the output of the game is discarded.
+     *
+     * @return true if the game is quiet.
+     */
+    public boolean isQuiet() {
+        return this.d_quiet;
+    }
+
+    /**
+     * Turns the output of the game off or on, as headless games do.
+     *
+     * @param p_quiet true to discard the output of the game.
+     */
+    public void setQuiet(boolean p_quiet) {
+        this.d_quiet = p_quiet;
+    }
+
+    /**
+     * Retrieves the random number generator of the game, the source of all its randomness,
+     * from the assignment of countries to the dice of battles.
+     *
+     * @return The random number generator.
+     */
+    public GameRandom getRandom() {
+        return this.d_random;
+    }
+
+    /**
+     * Retrieves the random number generator of the choices of computer players.
+     * It is separate from the generator of the game, so replaying the recorded commands of a
+     * player draws the same numbers from the game generator as the player did.
+     *
+     * @return The random number generator of strategies.
+     */
+    public GameRandom getStrategyRandom() {
+        return this.d_strategyRandom;
+    }
+}
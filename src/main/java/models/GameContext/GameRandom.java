@@ -0,0 +1,130 @@
+package models.GameContext;
+
+import java.util.List;
+
+/**
+ * Random number generator of one game, implementing xoshiro256**.
+ * The state is seeded by expanding a single 64-bit seed with SplitMix64, so two generators
+ * created with the same seed draw exactly the same numbers on every platform, which makes games
+ * reproducible for replays and benchmarks. Drawing a number is a handful of arithmetic
+ * operations on four longs, with no allocation and no synchronization: a generator belongs to
+ * one game driven by one thread, and independent streams are obtained with {@link #split()}.
+ */
+public class GameRandom {
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    private long d_s0;
+    private long d_s1;
+    private long d_s2;
+    private long d_s3;
+
+    /**
+     * Creates a generator.
+     *
+     * @param p_seed The seed; generators with the same seed draw the same numbers.
+     */
+    public GameRandom(long p_seed) {
+        long l_x = p_seed;
+        d_s0 = mix(l_x += 0x9E3779B97F4A7C15L);
+        d_s1 = mix(l_x += 0x9E3779B97F4A7C15L);
+        d_s2 = mix(l_x += 0x9E3779B97F4A7C15L);
+        d_s3 = mix(l_x + 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Draws a uniformly distributed long.
+     *
+     * @return The next random long.
+     */
+    public long nextLong() {
+        long l_result = Long.rotateLeft(d_s1 * 5, 7) * 9;
+        long l_t = d_s1 << 17;
+        d_s2 ^= d_s0;
+        d_s3 ^= d_s1;
+        d_s1 ^= d_s2;
+        d_s0 ^= d_s3;
+        d_s2 ^= l_t;
+        d_s3 = Long.rotateLeft(d_s3, 45);
+        return l_result;
+    }
+
+    /**
+     * Draws a uniformly distributed int between 0, inclusive, and a bound, exclusive.
+     *
+     * @param p_bound The bound, which must be positive.
+     * @return The next random int below the bound.
+     */
+    public int nextInt(int p_bound) {
+        if (p_bound <= 0) throw new IllegalArgumentException("The bound must be positive.");
+        // multiply-shift with rejection of the few values that would bias the result
+        long l_product = (nextLong() >>> 32) * p_bound;
+        if ((l_product & 0xFFFFFFFFL) < p_bound) {
+            long l_threshold = (0x100000000L - p_bound) % p_bound;
+            while ((l_product & 0xFFFFFFFFL) < l_threshold) {
+                l_product = (nextLong() >>> 32) * p_bound;
+            }
+        }
+        return (int) (l_product >>> 32);
+    }
+
+    /**
+     * Draws a uniformly distributed double between 0, inclusive, and 1, exclusive.
+     *
+     * @return The next random double.
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Creates a generator drawing an independent stream of numbers, seeded from this one.
+     *
+     * @return The new generator.
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /**
+     * Shuffles a list in place, every order being equally likely.
+     *
+     * @param p_list The list to shuffle.
+     * @param <T>    The type of the elements.
+     */
+    public <T> void shuffle(List<T> p_list) {
+        for (int i = p_list.size() - 1; i > 0; i--) {
+            int l_other = nextInt(i + 1);
+            p_list.set(i, p_list.set(l_other, p_list.get(i)));
+        }
+    }
+
+    /**
+     * Retrieves the internal state of the generator, to save a game in progress.
+     *
+     * @return A copy of the four state words.
+     */
+    public long[] getState() {
+        return new long[]{d_s0, d_s1, d_s2, d_s3};
+    }
+
+    /**
+     * Restores a state retrieved with {@link #getState()}; the generator then draws the numbers
+     * the saved one would have drawn.
+     *
+     * @param p_state The four state words, not all zero.
+     */
+    public void setState(long[] p_state) {
+        if (p_state.length != 4 || (p_state[0] | p_state[1] | p_state[2] | p_state[3]) == 0) {
+            throw new IllegalArgumentException("Invalid random number generator state.");
+        }
+        d_s0 = p_state[0];
+        d_s1 = p_state[1];
+        d_s2 = p_state[2];
+        d_s3 = p_state[3];
+    }
+
+    private static long mix(long p_z) {
+        p_z = (p_z ^ (p_z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        p_z = (p_z ^ (p_z >>> 27)) * 0x94D049BB133111EBL;
+        return p_z ^ (p_z >>> 31);
+    }
+}
@@ -0,0 +1,131 @@
+package models.Map;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Hands out unique IDs for the elements of one map.
+ * Used IDs are tracked in a bitset that grows with the largest ID seen, and released IDs are kept
+ * on a free-list, so both allocating and releasing take constant amortized time. The bitset only
+ * covers the first {@link #BITSET_LIMIT} IDs; larger IDs, such as a stray huge ID in a map file,
+ * are kept in a hash set so they cannot make the bitset grow without bound.
+ * New IDs are taken from the free-list first and otherwise from a cursor that only moves forward.
+ * IDs below the first ID are not tracked. All methods are synchronized, so an allocator may be
+ * shared between threads, although each map has its own.
+ */
+public class IdAllocator {
+    /** Number of IDs, from the first ID, tracked in the bitset. */
+    static final int BITSET_LIMIT = 1 << 20;
+    private final int d_firstID;
+    private long[] d_used = new long[2];
+    private final HashSet<Integer> d_usedAboveLimit = new HashSet<>();
+    private int[] d_free = new int[8];
+    private int d_freeCount;
+    private int d_next;
+
+    /**
+     * Creates an allocator with no ID in use.
+     *
+     * @param p_firstID The smallest ID handed out.
+     */
+    public IdAllocator(int p_firstID) {
+        this.d_firstID = p_firstID;
+        this.d_next = p_firstID;
+    }
+
+    /**
+     * Hands out an unused ID and marks it as used.
+     *
+     * @return The new ID.
+     */
+    public synchronized int allocate() {
+        while (d_freeCount > 0) {
+            int l_id = d_free[--d_freeCount];
+            // a released ID may have been reserved again since
+            if (!isUsed(l_id)) {
+                mark(l_id);
+                return l_id;
+            }
+        }
+        while (isUsed(d_next)) {
+            d_next++;
+        }
+        mark(d_next);
+        return d_next++;
+    }
+
+    /**
+     * Marks an ID chosen elsewhere, such as one read from a map file, as used.
+     *
+     * @param p_id The ID to reserve.
+     * @return true if the ID was free; false if it was already used or is not tracked.
+     */
+    public synchronized boolean reserve(int p_id) {
+        if (p_id < d_firstID || isUsed(p_id)) return false;
+        mark(p_id);
+        return true;
+    }
+
+    /**
+     * Releases an ID so that it can be handed out again.
+     *
+     * @param p_id The ID to release.
+     */
+    public synchronized void release(int p_id) {
+        if (!isUsed(p_id)) return;
+        long l_bit = (long) p_id - d_firstID;
+        if (l_bit >= BITSET_LIMIT) {
+            d_usedAboveLimit.remove(p_id);
+        } else {
+            d_used[(int) (l_bit >>> 6)] &= ~(1L << l_bit);
+        }
+        if (p_id >= d_next) return;
+        if (d_freeCount == d_free.length) d_free = Arrays.copyOf(d_free, d_freeCount * 2);
+        d_free[d_freeCount++] = p_id;
+    }
+
+    /**
+     * Checks whether an ID is in use.
+     *
+     * @param p_id The ID to check.
+     * @return true if the ID is used.
+     */
+    public synchronized boolean isUsed(int p_id) {
+        long l_bit = (long) p_id - d_firstID;
+        if (l_bit < 0) return false;
+        if (l_bit >= BITSET_LIMIT) return d_usedAboveLimit.contains(p_id);
+        if ((l_bit >>> 6) >= d_used.length) return false;
+        return (d_used[(int) (l_bit >>> 6)] & (1L << l_bit)) != 0;
+    }
+
+    /**
+     * Releases every ID.
+     */
+    public synchronized void clear() {
+        Arrays.fill(d_used, 0L);
+        d_usedAboveLimit.clear();
+        d_freeCount = 0;
+        d_next = d_firstID;
+    }
+
+    /**
+     * Retrieves the number of words of the bitset, which bounds the memory it takes.
+     *
+     * @return The length of the bitset in longs.
+     */
+    synchronized int getBitsetLength() {
+        return d_used.length;
+    }
+
+    private void mark(int p_id) {
+        long l_bit = (long) p_id - d_firstID;
+        if (l_bit >= BITSET_LIMIT) {
+            d_usedAboveLimit.add(p_id);
+            return;
+        }
+        if ((l_bit >>> 6) >= d_used.length) {
+            d_used = Arrays.copyOf(d_used, (int) Math.max(d_used.length * 2, (l_bit >>> 6) + 1));
+        }
+        d_used[(int) (l_bit >>> 6)] |= 1L << l_bit;
+    }
+}
@@ -5,9 +5,21 @@ import models.Continent.Continent;
 import models.Country.Country;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
 /**
  * The Map class represents the game map containing continents and countries.
+ * Countries and continents are also indexed by ID and by name so that lookups take constant time.
+ * Each country gets a dense index when it is added, separate from its ID, and is stored in an
+ * array at that index. Indexes stay stable while the country is in the map; the index of a removed
+ * country is reused by the next country added, so the array never grows past the largest number
+ * of countries held at once. External IDs are only needed at the edges: commands, files and views.
+ * Each map allocates its own country and continent IDs: elements added without an ID get the lowest
+ * free one, and IDs of elements added with one are reserved.
+ * The indexes follow every change made through this class; code that renames or renumbers
+ * an element already in the map must call {@link #reindex()} afterwards. Lookups do not detect
+ * stale entries: until then they answer under the old ID or name.
  */
 public class Map {
     /** List of continents in the map. */
@@ -16,30 +28,122 @@ public class Map {
     /** List of countries in the map. */
     private ArrayList<Country> d_countries;
 
+    /** Countries stored at their dense index; free slots are null. */
+    private Country[] d_countriesByIndex;
+
+    /** Number of slots of {@link #d_countriesByIndex} handed out so far. */
+    private int d_indexCount;
+
+    /** Stack of freed indexes, reused before new slots are handed out. */
+    private int[] d_freeIndexes;
+
+    /** Number of freed indexes on the stack. */
+    private int d_freeCount;
+
+    /** Allocator of the country IDs of this map. */
+    private final IdAllocator d_countryIDs = new IdAllocator(1);
+
+    /** Allocator of the continent IDs of this map. */
+    private final IdAllocator d_continentIDs = new IdAllocator(1);
+
+    /** Countries keyed by ID. The first country added wins when IDs repeat. */
+    private HashMap<Integer, Country> d_countriesByID;
+
+    /** Countries keyed by name. The first country added wins when names repeat. */
+    private HashMap<String, Country> d_countriesByName;
+
+    /** Number of countries whose ID is taken in {@link #d_countriesByID} by another country. */
+    private int d_shadowedCountryIDs;
+
+    /** Number of countries whose name is taken in {@link #d_countriesByName} by another country. */
+    private int d_shadowedCountryNames;
+
+    /** Continents keyed by ID. */
+    private HashMap<Integer, Continent> d_continentsByID;
+
+    /** Continents keyed by name. */
+    private HashMap<String, Continent> d_continentsByName;
+
     /**
      * Constructor to initialize an empty map.
      */
     public Map(){
         this.d_continents = new ArrayList<>();
         this.d_countries = new ArrayList<>();
+        this.d_countriesByIndex = new Country[16];
+        this.d_freeIndexes = new int[16];
+        this.d_countriesByID = new HashMap<>();
+        this.d_countriesByName = new HashMap<>();
+        this.d_continentsByID = new HashMap<>();
+        this.d_continentsByName = new HashMap<>();
     }
 
     /**
-     * Add a country to the map.
+     * Presizes the lists and indexes for the given number of elements, so loading a map of known
+     * size does not grow them step by step.
+     *
+     * @param p_continentCapacity The number of continents expected.
+     * @param p_countryCapacity   The number of countries expected.
+     */
+    public void ensureCapacity(int p_continentCapacity, int p_countryCapacity){
+        d_continents.ensureCapacity(p_continentCapacity);
+        d_countries.ensureCapacity(p_countryCapacity);
+        if (d_countriesByIndex.length < p_countryCapacity) {
+            d_countriesByIndex = Arrays.copyOf(d_countriesByIndex, p_countryCapacity);
+        }
+        if (d_countriesByID.isEmpty()) {
+            d_countriesByID = new HashMap<>(p_countryCapacity * 4 / 3 + 1);
+            d_countriesByName = new HashMap<>(p_countryCapacity * 4 / 3 + 1);
+        }
+        if (d_continentsByID.isEmpty()) {
+            d_continentsByID = new HashMap<>(p_continentCapacity * 4 / 3 + 1);
+            d_continentsByName = new HashMap<>(p_continentCapacity * 4 / 3 + 1);
+        }
+    }
+
+    /**
+     * Add a country to the map and assign its dense index, and its ID if it has none.
+     * Adding a country already in the map does nothing.
      *
      * @param p_country The country to add.
      */
     public void addCountry(Country p_country){
+        if (containsCountry(p_country)) return;
+        if (p_country.getID() == Country.NO_ID) {
+            p_country.setID(d_countryIDs.allocate());
+        } else {
+            d_countryIDs.reserve(p_country.getID());
+        }
+        int l_index;
+        if (d_freeCount > 0) {
+            l_index = d_freeIndexes[--d_freeCount];
+        } else {
+            if (d_indexCount == d_countriesByIndex.length) {
+                d_countriesByIndex = Arrays.copyOf(d_countriesByIndex, d_indexCount * 2);
+            }
+            l_index = d_indexCount++;
+        }
+        d_countriesByIndex[l_index] = p_country;
+        p_country.setIndex(l_index);
         d_countries.add(p_country);
+        if (d_countriesByID.putIfAbsent(p_country.getID(), p_country) != null) d_shadowedCountryIDs++;
+        if (d_countriesByName.putIfAbsent(p_country.getName(), p_country) != null) d_shadowedCountryNames++;
     }
 
     /**
-     * Add a continent to the map.
+     * Add a continent to the map, assigning its ID if it has none.
      *
      * @param p_continent The continent to add.
      */
     public void addContinent(Continent p_continent){
+        if (p_continent.getID() == Continent.NO_ID) {
+            p_continent.setID(d_continentIDs.allocate());
+        } else {
+            d_continentIDs.reserve(p_continent.getID());
+        }
         d_continents.add(p_continent);
+        d_continentsByID.putIfAbsent(p_continent.getID(), p_continent);
+        d_continentsByName.putIfAbsent(p_continent.getName(), p_continent);
     }
     /**
      * Remove a continent from the map.
@@ -47,15 +151,113 @@ public class Map {
      * @param p_continent The continent to remove.
      */
     public void removeContinent(Continent p_continent){
-        this.d_continents.remove(p_continent);
+        if (!this.d_continents.remove(p_continent)) return;
+        if (d_continentsByID.get(p_continent.getID()) == p_continent) {
+            d_continentsByID.remove(p_continent.getID());
+            for (Continent l_continent : d_continents) {
+                if (l_continent.getID() == p_continent.getID()) {
+                    d_continentsByID.put(l_continent.getID(), l_continent);
+                    break;
+                }
+            }
+        }
+        if (d_continentsByName.get(p_continent.getName()) == p_continent) {
+            d_continentsByName.remove(p_continent.getName());
+            for (Continent l_continent : d_continents) {
+                if (l_continent.getName().equals(p_continent.getName())) {
+                    d_continentsByName.put(l_continent.getName(), l_continent);
+                    break;
+                }
+            }
+        }
+        if (!d_continentsByID.containsKey(p_continent.getID())) d_continentIDs.release(p_continent.getID());
     }
     /**
-     * Remove a country from the map.
+     * Remove a country from the map. Membership is checked through the dense index; the list of
+     * countries is only searched to take the country out of it, and the other countries are only
+     * searched for one taking over its ID or name when such a country exists.
      *
      * @param p_country The country to remove.
      */
     public void removeCountry(Country p_country){
+        if (!containsCountry(p_country)) return;
         this.d_countries.remove(p_country);
+        d_countriesByIndex[p_country.getIndex()] = null;
+        if (d_freeCount == d_freeIndexes.length) {
+            d_freeIndexes = Arrays.copyOf(d_freeIndexes, d_freeCount * 2);
+        }
+        d_freeIndexes[d_freeCount++] = p_country.getIndex();
+        p_country.setIndex(-1);
+        // another country may share the key; it takes over the index entry.
+        if (d_countriesByID.get(p_country.getID()) != p_country) {
+            d_shadowedCountryIDs--;
+        } else {
+            d_countriesByID.remove(p_country.getID());
+            if (d_shadowedCountryIDs > 0) {
+                for (Country l_country : d_countries) {
+                    if (l_country.getID() == p_country.getID()) {
+                        d_countriesByID.put(l_country.getID(), l_country);
+                        d_shadowedCountryIDs--;
+                        break;
+                    }
+                }
+            }
+        }
+        if (d_countriesByName.get(p_country.getName()) != p_country) {
+            d_shadowedCountryNames--;
+        } else {
+            d_countriesByName.remove(p_country.getName());
+            if (d_shadowedCountryNames > 0) {
+                for (Country l_country : d_countries) {
+                    if (l_country.getName().equals(p_country.getName())) {
+                        d_countriesByName.put(l_country.getName(), l_country);
+                        d_shadowedCountryNames--;
+                        break;
+                    }
+                }
+            }
+        }
+        if (!d_countriesByID.containsKey(p_country.getID())) d_countryIDs.release(p_country.getID());
+    }
+
+    /**
+     * Removes every country and continent and releases every ID and index.
+     */
+    public void clear(){
+        d_continents.clear();
+        d_countries.clear();
+        for (int i = 0; i < d_indexCount; i++) {
+            if (d_countriesByIndex[i] != null) d_countriesByIndex[i].setIndex(-1);
+        }
+        Arrays.fill(d_countriesByIndex, 0, d_indexCount, null);
+        d_indexCount = 0;
+        d_freeCount = 0;
+        reindex();
+    }
+
+    /**
+     * Rebuilds the ID and name indexes, and the used IDs, from the lists of countries and continents.
+     * Must be called after elements already in the map are renamed or renumbered.
+     */
+    public void reindex(){
+        d_countriesByID.clear();
+        d_countriesByName.clear();
+        d_continentsByID.clear();
+        d_continentsByName.clear();
+        d_countryIDs.clear();
+        d_continentIDs.clear();
+        d_shadowedCountryIDs = 0;
+        d_shadowedCountryNames = 0;
+        for(Country country : this.d_countries){
+            if (d_countriesByID.putIfAbsent(country.getID(), country) != null) d_shadowedCountryIDs++;
+            if (d_countriesByName.putIfAbsent(country.getName(), country) != null) d_shadowedCountryNames++;
+            d_countryIDs.reserve(country.getID());
+        }
+        for(Continent continent : this.d_continents){
+            d_continentsByID.putIfAbsent(continent.getID(), continent);
+            d_continentsByName.putIfAbsent(continent.getName(), continent);
+            d_continentIDs.reserve(continent.getID());
+        }
     }
 
     /**
@@ -67,6 +269,38 @@ public class Map {
         return this.d_countries;
     }
 
+    /**
+     * Checks whether a country is held by this map, in constant time.
+     *
+     * @param p_country The country to check.
+     * @return true if the country is in the map.
+     */
+    public boolean containsCountry(Country p_country){
+        int l_index = p_country.getIndex();
+        return l_index >= 0 && l_index < d_indexCount && d_countriesByIndex[l_index] == p_country;
+    }
+
+    /**
+     * Get a country in the map by its dense index.
+     *
+     * @param p_index The dense index of the country.
+     * @return The country at that index, or null if the slot is free.
+     */
+    public Country getCountryByIndex(int p_index){
+        if (p_index < 0 || p_index >= d_indexCount) return null;
+        return d_countriesByIndex[p_index];
+    }
+
+    /**
+     * Get the number of dense index slots handed out. Every country in the map has an index below
+     * it, so it is the size of arrays addressed by country index.
+     *
+     * @return The bound of the dense indexes.
+     */
+    public int getIndexBound(){
+        return d_indexCount;
+    }
+
     /**
      * Get a country in the map by its ID.
      *
@@ -74,10 +308,7 @@ public class Map {
      * @return The country with the specified ID, or null if not found.
      */
     public Country getCountryByID(int p_id){
-        for(Country country : this.d_countries){
-            if(country.getID() == p_id) return country;
-        }
-        return null;
+        return d_countriesByID.get(p_id);
     }
     /**
      * Get a country in the map by its name.
@@ -86,10 +317,7 @@ public class Map {
      * @return The country with the specified name, or null if not found.
      */
     public Country getCountryByName(String p_name){
-        for(Country country : this.d_countries){
-            if(country.getName().equals(p_name)) return country;
-        }
-        return null;
+        return d_countriesByName.get(p_name);
     }
 
     /**
@@ -99,10 +327,7 @@ public class Map {
      * @return The continent with the specified ID, or null if not found.
      */
     public Continent getContinentByID(int p_id){
-        for(Continent continent : this.d_continents){
-            if(continent.getID() == p_id) return continent;
-        }
-        return null;
+        return d_continentsByID.get(p_id);
     }
     /**
      * Get a continent in the map by its name.
@@ -111,10 +336,7 @@ public class Map {
      * @return The continent with the specified name, or null if not found.
      */
     public Continent getContinentByName(String p_name){
-        for(Continent continent : this.d_continents){
-            if(continent.getName().equals(p_name)) return continent;
-        }
-        return null;
+        return d_continentsByName.get(p_name);
     }
 
     /**
@@ -125,4 +347,14 @@ public class Map {
     public ArrayList<Continent> getContinents(){
         return this.d_continents;
     }
+
+    /**
+     * Builds an immutable compressed-sparse-row snapshot of the country graph.
+     * The snapshot does not follow later changes to the map.
+     *
+     * @return The snapshot of the current map.
+     */
+    public MapGraph toGraph(){
+        return new MapGraph(this);
+    }
 }
@@ -0,0 +1,220 @@
+package models.Map;
+
+import models.Continent.Continent;
+import models.Country.Country;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Immutable compressed-sparse-row snapshot of the country graph of a {@link Map}.
+ * Countries get dense indices in the order of {@link Map#getCountries()} and continents in the
+ * order of {@link Map#getContinents()}. The neighbors of country i are the targets stored
+ * between {@link #neighborStart(int)} and {@link #neighborEnd(int)}.
+ * Countries of each continent are also grouped, in map order, so a continent can be walked
+ * without scanning the whole map. Traversals over the snapshot allocate nothing.
+ */
+public final class MapGraph {
+    private final int[] d_countryIDs;
+    private final int[] d_offsets;
+    private final int[] d_targets;
+    private final int[] d_continentOf;
+    private final int[] d_continentIDs;
+    private final int[] d_continentOffsets;
+    private final int[] d_continentMembers;
+    private final int[] d_continentPosition;
+
+    /**
+     * Builds the snapshot of the given map.
+     * Neighbors that are not part of the map are left out. A country whose continent ID matches
+     * no continent belongs to no continent.
+     *
+     * @param p_map The map to take the snapshot of.
+     */
+    MapGraph(Map p_map) {
+        ArrayList<Country> l_countries = p_map.getCountries();
+        ArrayList<Continent> l_continents = p_map.getContinents();
+        int l_countryCount = l_countries.size();
+        int l_continentCount = l_continents.size();
+
+        // position in map order of each dense country index, -1 for free slots
+        int[] l_positionOf = new int[p_map.getIndexBound()];
+        Arrays.fill(l_positionOf, -1);
+        for (int i = 0; i < l_countryCount; i++) {
+            Country l_country = l_countries.get(i);
+            if (p_map.containsCountry(l_country) && l_positionOf[l_country.getIndex()] < 0) {
+                l_positionOf[l_country.getIndex()] = i;
+            }
+        }
+        HashMap<Integer, Integer> l_continentIndex = new HashMap<>();
+        d_continentIDs = new int[l_continentCount];
+        for (int i = 0; i < l_continentCount; i++) {
+            d_continentIDs[i] = l_continents.get(i).getID();
+            l_continentIndex.putIfAbsent(d_continentIDs[i], i);
+        }
+
+        d_countryIDs = new int[l_countryCount];
+        d_continentOf = new int[l_countryCount];
+        d_offsets = new int[l_countryCount + 1];
+        int l_edgeCount = 0;
+        for (int i = 0; i < l_countryCount; i++) {
+            Country l_country = l_countries.get(i);
+            d_countryIDs[i] = l_country.getID();
+            Integer l_continent = l_continentIndex.get(l_country.getContinentID());
+            d_continentOf[i] = l_continent == null ? -1 : l_continent;
+            for (Country l_neighbor : l_country.getNeighbours()) {
+                if (p_map.containsCountry(l_neighbor)) l_edgeCount++;
+            }
+        }
+        d_targets = new int[l_edgeCount];
+        int l_edge = 0;
+        for (int i = 0; i < l_countryCount; i++) {
+            d_offsets[i] = l_edge;
+            for (Country l_neighbor : l_countries.get(i).getNeighbours()) {
+                if (p_map.containsCountry(l_neighbor)) d_targets[l_edge++] = l_positionOf[l_neighbor.getIndex()];
+            }
+        }
+        d_offsets[l_countryCount] = l_edge;
+
+        // counting sort of the countries by continent, stable so map order is kept.
+        d_continentOffsets = new int[l_continentCount + 1];
+        for (int i = 0; i < l_countryCount; i++) {
+            if (d_continentOf[i] >= 0) d_continentOffsets[d_continentOf[i] + 1]++;
+        }
+        for (int c = 0; c < l_continentCount; c++) {
+            d_continentOffsets[c + 1] += d_continentOffsets[c];
+        }
+        d_continentMembers = new int[d_continentOffsets[l_continentCount]];
+        d_continentPosition = new int[l_countryCount];
+        int[] l_next = new int[l_continentCount];
+        for (int i = 0; i < l_countryCount; i++) {
+            int l_continent = d_continentOf[i];
+            if (l_continent >= 0) {
+                d_continentPosition[i] = l_next[l_continent];
+                d_continentMembers[d_continentOffsets[l_continent] + l_next[l_continent]++] = i;
+            } else {
+                d_continentPosition[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of countries in the snapshot.
+     *
+     * @return The number of countries.
+     */
+    public int getCountryCount() {
+        return d_countryIDs.length;
+    }
+
+    /**
+     * Retrieves the number of continents in the snapshot.
+     *
+     * @return The number of continents.
+     */
+    public int getContinentCount() {
+        return d_continentIDs.length;
+    }
+
+    /**
+     * Retrieves the number of directed neighbor links in the snapshot.
+     *
+     * @return The number of edges.
+     */
+    public int getEdgeCount() {
+        return d_targets.length;
+    }
+
+    /**
+     * Retrieves the ID of a country.
+     *
+     * @param p_country The dense index of the country.
+     * @return The ID of the country.
+     */
+    public int countryID(int p_country) {
+        return d_countryIDs[p_country];
+    }
+
+    /**
+     * Retrieves the dense index of the continent of a country.
+     *
+     * @param p_country The dense index of the country.
+     * @return The dense index of its continent, or -1 if it belongs to no continent of the map.
+     */
+    public int continentOf(int p_country) {
+        return d_continentOf[p_country];
+    }
+
+    /**
+     * Retrieves the position of the first neighbor of a country.
+     *
+     * @param p_country The dense index of the country.
+     * @return The first position to pass to {@link #neighborAt(int)}.
+     */
+    public int neighborStart(int p_country) {
+        return d_offsets[p_country];
+    }
+
+    /**
+     * Retrieves the position after the last neighbor of a country.
+     *
+     * @param p_country The dense index of the country.
+     * @return The end position, exclusive.
+     */
+    public int neighborEnd(int p_country) {
+        return d_offsets[p_country + 1];
+    }
+
+    /**
+     * Retrieves the neighbor stored at a position.
+     *
+     * @param p_position A position between neighborStart and neighborEnd of some country.
+     * @return The dense index of the neighbor.
+     */
+    public int neighborAt(int p_position) {
+        return d_targets[p_position];
+    }
+
+    /**
+     * Retrieves the ID of a continent.
+     *
+     * @param p_continent The dense index of the continent.
+     * @return The ID of the continent.
+     */
+    public int continentID(int p_continent) {
+        return d_continentIDs[p_continent];
+    }
+
+    /**
+     * Retrieves the number of countries of a continent.
+     *
+     * @param p_continent The dense index of the continent.
+     * @return The number of countries of the continent.
+     */
+    public int continentSize(int p_continent) {
+        return d_continentOffsets[p_continent + 1] - d_continentOffsets[p_continent];
+    }
+
+    /**
+     * Retrieves a country of a continent.
+     *
+     * @param p_continent The dense index of the continent.
+     * @param p_member    The position of the country within the continent, in map order.
+     * @return The dense index of the country.
+     */
+    public int continentMember(int p_continent, int p_member) {
+        return d_continentMembers[d_continentOffsets[p_continent] + p_member];
+    }
+
+    /**
+     * Retrieves the position of a country within its continent, so that per-continent
+     * data can be kept in arrays sized to the continent.
+     *
+     * @param p_country The dense index of the country.
+     * @return The position of the country within its continent, or -1 if it belongs to no continent.
+     */
+    public int positionInContinent(int p_country) {
+        return d_continentPosition[p_country];
+    }
+}
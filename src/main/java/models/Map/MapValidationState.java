@@ -0,0 +1,282 @@
+package models.Map;
+
+import models.Continent.Continent;
+import models.Country.Country;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * Keeps the outcome of the {@link MapValidator} rules up to date while a map is being edited.
+ * The state is built with one full pass over the map and then updated by the edit callbacks,
+ * so the map can be checked after each edit without traversing all of it again.
+ * Counters track empty continents, continents without a link to another continent, continents
+ * that are disconnected sub-graphs and duplicate country names. Connectivity that an edit may
+ * have broken is only recomputed for the continents touched by that edit, when next queried.
+ * Edits made directly on the map, bypassing the callbacks, require {@link #invalidate()}.
+ */
+public class MapValidationState {
+    private final Map d_map;
+    private HashMap<Integer, ContinentState> d_continents;
+    private HashMap<String, Integer> d_nameCounts;
+    private LinkedHashSet<ContinentState> d_dirtyContinents;
+    private int d_emptyContinents;
+    private int d_isolatedContinents;
+    private int d_disconnectedContinents;
+    private int d_duplicateNames;
+    private boolean d_stale;
+
+    /**
+     * Validation state of one continent.
+     */
+    private static class ContinentState {
+        private final LinkedHashSet<Country> d_members = new LinkedHashSet<>();
+        private int d_crossEdges;
+        private boolean d_connected = true;
+    }
+
+    /**
+     * Creates the state of a map. It is built on the first query.
+     *
+     * @param p_map The map to follow.
+     */
+    public MapValidationState(Map p_map) {
+        this.d_map = p_map;
+        this.d_stale = true;
+    }
+
+    /**
+     * Retrieves the map whose state is kept.
+     *
+     * @return The map.
+     */
+    public Map getMap() {
+        return this.d_map;
+    }
+
+    /**
+     * Marks the state as out of date so it is rebuilt with a full pass on the next query.
+     */
+    public void invalidate() {
+        this.d_stale = true;
+    }
+
+    /**
+     * Checks whether the map passes every rule of {@link MapValidator}.
+     * Takes constant time unless edits since the last query left continents to re-traverse.
+     * Nothing is printed; use {@link MapValidator#validateMap(Map)} to report why a map is invalid.
+     *
+     * @return true if the map is valid; false otherwise.
+     */
+    public boolean isValid() {
+        if (d_stale) rebuild();
+        if (d_continents.isEmpty() || d_emptyContinents > 0) return false;
+        if (d_continents.size() > 1 && d_isolatedContinents > 0) return false;
+        for (ContinentState l_state : d_dirtyContinents) {
+            setConnected(l_state, isContinentConnected(l_state));
+        }
+        d_dirtyContinents.clear();
+        return d_disconnectedContinents == 0 && d_duplicateNames == 0;
+    }
+
+    /**
+     * Records that a continent was added to the map.
+     *
+     * @param p_continent The continent added.
+     */
+    public void onContinentAdded(Continent p_continent) {
+        if (d_stale) return;
+        if (d_continents.containsKey(p_continent.getID())) {
+            invalidate();
+            return;
+        }
+        d_continents.put(p_continent.getID(), new ContinentState());
+        d_emptyContinents++;
+        d_isolatedContinents++;
+    }
+
+    /**
+     * Records that a continent was removed. Removing a continent renumbers the others,
+     * so the state is rebuilt on the next query.
+     *
+     * @param p_continent The continent removed.
+     */
+    public void onContinentRemoved(Continent p_continent) {
+        invalidate();
+    }
+
+    /**
+     * Records that a country was added to the map, after it was added. The new country has no neighbors yet, so
+     * it is unreachable unless it is the only country of its continent.
+     *
+     * @param p_country The country added.
+     */
+    public void onCountryAdded(Country p_country) {
+        if (d_stale) return;
+        if (!d_map.containsCountry(p_country)) {
+            invalidate();
+            return;
+        }
+        addName(p_country.getName());
+        ContinentState l_state = d_continents.get(p_country.getContinentID());
+        if (l_state == null) return;
+        l_state.d_members.add(p_country);
+        if (l_state.d_members.size() == 1) {
+            d_emptyContinents--;
+        } else {
+            setConnected(l_state, false);
+            d_dirtyContinents.remove(l_state);
+        }
+    }
+
+    /**
+     * Records that a country was removed from the map. The links of other countries to it
+     * must have been removed, through {@link #onNeighborRemoved(Country, Country)}, beforehand.
+     *
+     * @param p_country The country removed.
+     */
+    public void onCountryRemoved(Country p_country) {
+        if (d_stale) return;
+        removeName(p_country.getName());
+        ContinentState l_state = d_continents.get(p_country.getContinentID());
+        if (l_state == null || !l_state.d_members.remove(p_country)) return;
+        for (Country l_neighbor : p_country.getNeighbours()) {
+            if (l_neighbor.getContinentID() != p_country.getContinentID()) {
+                removeCrossEdge(l_state);
+            }
+        }
+        if (l_state.d_members.isEmpty()) {
+            d_emptyContinents++;
+            setConnected(l_state, true);
+            d_dirtyContinents.remove(l_state);
+        } else {
+            d_dirtyContinents.add(l_state);
+        }
+    }
+
+    /**
+     * Records that a neighbor link was added. A new link inside a continent cannot disconnect it.
+     *
+     * @param p_country  The country the link starts from.
+     * @param p_neighbor The neighbor added.
+     */
+    public void onNeighborAdded(Country p_country, Country p_neighbor) {
+        if (d_stale) return;
+        ContinentState l_state = d_continents.get(p_country.getContinentID());
+        if (l_state == null) return;
+        if (p_neighbor.getContinentID() != p_country.getContinentID()) {
+            if (l_state.d_crossEdges++ == 0) d_isolatedContinents--;
+        } else if (!l_state.d_connected) {
+            d_dirtyContinents.add(l_state);
+        }
+    }
+
+    /**
+     * Records that a neighbor link was removed. Removing a link inside a connected continent
+     * may disconnect it.
+     *
+     * @param p_country  The country the link started from.
+     * @param p_neighbor The neighbor removed.
+     */
+    public void onNeighborRemoved(Country p_country, Country p_neighbor) {
+        if (d_stale) return;
+        ContinentState l_state = d_continents.get(p_country.getContinentID());
+        if (l_state == null) return;
+        if (p_neighbor.getContinentID() != p_country.getContinentID()) {
+            removeCrossEdge(l_state);
+        } else if (l_state.d_connected) {
+            d_dirtyContinents.add(l_state);
+        }
+    }
+
+    /**
+     * Rebuilds the whole state with one pass over the map.
+     */
+    private void rebuild() {
+        d_continents = new HashMap<>();
+        d_nameCounts = new HashMap<>();
+        d_dirtyContinents = new LinkedHashSet<>();
+        d_emptyContinents = 0;
+        d_isolatedContinents = 0;
+        d_disconnectedContinents = 0;
+        d_duplicateNames = 0;
+        for (Continent l_continent : d_map.getContinents()) {
+            d_continents.putIfAbsent(l_continent.getID(), new ContinentState());
+        }
+        for (Country l_country : d_map.getCountries()) {
+            addName(l_country.getName());
+            ContinentState l_state = d_continents.get(l_country.getContinentID());
+            if (l_state == null) continue;
+            l_state.d_members.add(l_country);
+            for (Country l_neighbor : l_country.getNeighbours()) {
+                if (d_map.containsCountry(l_neighbor) && l_neighbor.getContinentID() != l_country.getContinentID()) {
+                    l_state.d_crossEdges++;
+                }
+            }
+        }
+        for (ContinentState l_state : d_continents.values()) {
+            if (l_state.d_members.isEmpty()) d_emptyContinents++;
+            if (l_state.d_crossEdges == 0) d_isolatedContinents++;
+            setConnected(l_state, isContinentConnected(l_state));
+        }
+        d_stale = false;
+    }
+
+    /**
+     * Checks whether every country of a continent is reached from its first country, in map order,
+     * without leaving the continent.
+     *
+     * @param p_state The continent to traverse.
+     * @return true if the continent is a connected sub-graph.
+     */
+    private boolean isContinentConnected(ContinentState p_state) {
+        Iterator<Country> l_members = p_state.d_members.iterator();
+        if (!l_members.hasNext()) return true;
+        Country l_first = l_members.next();
+        // members are countries of the map, so their dense indexes address the visited set
+        BitSet l_visited = new BitSet(d_map.getIndexBound());
+        ArrayDeque<Country> l_stack = new ArrayDeque<>();
+        l_visited.set(l_first.getIndex());
+        l_stack.push(l_first);
+        int l_visitedCount = 1;
+        while (!l_stack.isEmpty()) {
+            Country l_country = l_stack.pop();
+            for (Country l_neighbor : l_country.getNeighbours()) {
+                if (p_state.d_members.contains(l_neighbor) && !l_visited.get(l_neighbor.getIndex())) {
+                    l_visited.set(l_neighbor.getIndex());
+                    l_stack.push(l_neighbor);
+                    l_visitedCount++;
+                }
+            }
+        }
+        return l_visitedCount == p_state.d_members.size();
+    }
+
+    private void setConnected(ContinentState p_state, boolean p_connected) {
+        if (p_state.d_connected == p_connected) return;
+        p_state.d_connected = p_connected;
+        d_disconnectedContinents += p_connected ? -1 : 1;
+    }
+
+    private void removeCrossEdge(ContinentState p_state) {
+        if (--p_state.d_crossEdges == 0) d_isolatedContinents++;
+    }
+
+    private void addName(String p_name) {
+        if (d_nameCounts.merge(p_name, 1, Integer::sum) == 2) d_duplicateNames++;
+    }
+
+    private void removeName(String p_name) {
+        Integer l_count = d_nameCounts.get(p_name);
+        if (l_count == null) return;
+        if (l_count == 1) {
+            d_nameCounts.remove(p_name);
+        } else {
+            d_nameCounts.put(p_name, l_count - 1);
+            if (l_count == 2) d_duplicateNames--;
+        }
+    }
+}
@@ -4,11 +4,18 @@ import models.Continent.Continent;
 import models.Country.Country;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 public class MapValidator {
 
+    /** Below this many countries a validation task runs sequentially instead of splitting further. */
+    private static final int SEQUENTIAL_THRESHOLD = 8192;
+
     /**
      * Validates the integrity of a map represented by continents and countries.
      * The validation checks include:
@@ -18,12 +25,27 @@ public class MapValidator {
      * - Ensuring all continents are connected sub-graphs.</li>
      * - Checking for unique country names within the map.</li>
      * If any of the validation checks fail, corresponding error messages are printed.
+     * The checks run over a {@link MapGraph} snapshot and together take O(V+E) time.
      *
      *
      * @param p_map The map to be validated, represented as an object of type Map.
      * @return true if the map is valid; false otherwise.
      */
     public static boolean validateMap(Map p_map) {
+        return validateMap(p_map, null);
+    }
+
+    /**
+     * Validates the integrity of a map, running the inter-continent check and the per-continent
+     * connectivity checks as ForkJoin tasks on the given pool.
+     * The results and messages are the same as those of {@link #validateMap(Map)}; failures are
+     * reported for the first failing continent in map order.
+     *
+     * @param p_map  The map to be validated, represented as an object of type Map.
+     * @param p_pool The pool that runs the checks, or null to run them on the calling thread.
+     * @return true if the map is valid; false otherwise.
+     */
+    public static boolean validateMap(Map p_map, ForkJoinPool p_pool) {
 
         // Retrieve continents and countries from the given map
         ArrayList<Continent> l_continents = p_map.getContinents();
@@ -34,19 +56,34 @@ public class MapValidator {
             return false;
         }
 
+        // All graph checks below run over one snapshot, each in O(V+E)
+        MapGraph l_graph = p_map.toGraph();
+
         // Check if there is at least one country in a continent
-        if(!hasCountriesInContinents(l_continents, l_countries)){
+        if(!hasCountriesInContinents(l_graph, l_continents)){
             return false;
         }
 
+        // Both graph checks are computed up front, in parallel when a pool is given
+        boolean[] l_isConnected = new boolean[l_graph.getContinentCount()];
+        int[] l_visitedCounts = new int[l_graph.getContinentCount()];
+        ConnectedContinentsTask l_connectedTask = new ConnectedContinentsTask(l_graph, 0, l_graph.getCountryCount(), l_isConnected);
+        ContinentTraversalTask l_traversalTask = new ContinentTraversalTask(l_graph, 0, l_graph.getContinentCount(), l_visitedCounts);
+        if (p_pool == null) {
+            l_connectedTask.compute();
+            l_traversalTask.compute();
+        } else {
+            p_pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(l_connectedTask, l_traversalTask)));
+        }
+
         // Check if the continents are connected or not
-        if(!isConnectedGraph(l_continents, l_countries)) {
+        if(!isConnectedGraph(l_graph, l_continents, l_isConnected)) {
             System.out.println("The map is a disconnected graph.");
             return false;
         }
 
         // Check if all continents are connected sub-graphs
-        if (!areContinentsConnectedSubgraphs(l_continents, l_countries)) {
+        if (!areContinentsConnectedSubgraphs(l_graph, l_continents, l_visitedCounts)) {
             System.out.println("One or more continents are disconnected sub-graphs.");
             return false;
         }
@@ -65,23 +102,14 @@ public class MapValidator {
      * Checks whether each continent has at least one country associated with it.
      * If a continent is found without any country, it prints an error message.
      *
-     * @param p_continents List of continents to check for the presence of countries.
-     * @param p_countries  List of all countries in the map.
+     * @param p_graph      Snapshot of the map graph.
+     * @param p_continents List of continents, in the order of the snapshot.
      * @return true if each continent has at least one country; false otherwise.
      */
-    private static boolean hasCountriesInContinents(ArrayList<Continent> p_continents, ArrayList<Country> p_countries) {
-        for (Continent continent : p_continents) {
-            boolean hasCountry = false;
-
-            for (Country country : p_countries) {
-                if (country.getContinentID() == continent.getID()) {
-                    hasCountry = true;
-                    break;
-                }
-            }
-
-            if (!hasCountry) {
-                System.out.println("Continent without any country found: " + continent.getName());
+    private static boolean hasCountriesInContinents(MapGraph p_graph, ArrayList<Continent> p_continents) {
+        for (int c = 0; c < p_graph.getContinentCount(); c++) {
+            if (p_graph.continentSize(c) == 0) {
+                System.out.println("Continent without any country found: " + p_continents.get(c).getName());
                 return false;
             }
         }
@@ -95,44 +123,24 @@ public class MapValidator {
      * forms a connected graph. A connected graph implies that there is at least one connection
      * between countries in different continents.
      *
-     * If there is only one continent, it is considered connected by default. Otherwise, it iterates
-     * through each continent and checks if there is at least one connection between a country in that
-     * continent and a country in another continent.
+     * If there is only one continent, it is considered connected by default. Otherwise, every
+     * continent must have been marked by {@link ConnectedContinentsTask}.
      *
-     * @param p_continents The list of continents in the graph.
-     * @param p_countries The list of countries in the graph.
+     * @param p_graph       Snapshot of the map graph.
+     * @param p_continents  List of continents, in the order of the snapshot.
+     * @param p_isConnected Continents having a neighbor in another continent.
      * @return true if the graph is connected; false otherwise.
      */
-    private static boolean isConnectedGraph(ArrayList<Continent> p_continents, ArrayList<Country> p_countries) {
+    private static boolean isConnectedGraph(MapGraph p_graph, ArrayList<Continent> p_continents, boolean[] p_isConnected) {
 
         // If there is only one continent, it is always connected
-        if (p_continents.size() == 1) {
+        if (p_graph.getContinentCount() == 1) {
             return true;
         }
 
-        // Iterate through each continent
-        for (Continent continent : p_continents) {
-            boolean isConnected = false;
-
-            // Iterate through each country in the current continent
-            for (Country country : p_countries) {
-                if (country.getContinentID() == continent.getID()) {
-                    // Check if the country has a neighbor in another continent
-                    for (Country neighbor : country.getNeighbours()) {
-                        if (neighbor.getContinentID() != continent.getID()) {
-                            isConnected = true;
-                            break;
-                        }
-                    }
-
-                    if (isConnected) {
-                        break;
-                    }
-                }
-            }
-
-            if (!isConnected) {
-                System.out.println(continent.getName() + " is not connected.");
+        for (int c = 0; c < p_isConnected.length; c++) {
+            if (!p_isConnected[c]) {
+                System.out.println(p_continents.get(c).getName() + " is not connected.");
                 return false;
             }
         }
@@ -142,33 +150,22 @@ public class MapValidator {
 
 
     /**
-     * Checks whether all countries within each continent are connected.
+     * Checks whether all countries within each continent are connected, using the number of
+     * countries reached by {@link ContinentTraversalTask} from the first country of each continent.
      *
-     * @param p_continents          List of continents to check for connectivity.
-     * @param p_countries           List of all countries in the map.
+     * @param p_graph         Snapshot of the map graph.
+     * @param p_continents    List of continents, in the order of the snapshot.
+     * @param p_visitedCounts Countries reached in each continent.
      * @return true if all continents are connected sub-graphs; false otherwise.
      */
-    private static boolean areContinentsConnectedSubgraphs(ArrayList<Continent> p_continents, ArrayList<Country> p_countries) {
-        for (Continent continent : p_continents) {
-            Set<Country> l_visited = new HashSet<>();
-            ArrayList<Country> l_continentCountries = new ArrayList<>();
-
-            // Collect countries belonging to the current continent
-            for (Country country : p_countries) {
-                if (country.getContinentID() == continent.getID()) {
-                    l_continentCountries.add(country);
-                }
-            }
-
-            // Perform DFS traversal for the continent
-            if (!l_continentCountries.isEmpty()) {
-                dfsContinent(l_continentCountries.get(0), l_visited, continent.getID());
-            }
+    private static boolean areContinentsConnectedSubgraphs(MapGraph p_graph, ArrayList<Continent> p_continents, int[] p_visitedCounts) {
+        for (int c = 0; c < p_graph.getContinentCount(); c++) {
+            int l_continentSize = p_graph.continentSize(c);
 
             // Check if all countries in the continent are visited
-            if (l_visited.size() != l_continentCountries.size()) {
-                System.out.println("Continent with disconnected sub-graphs found: " + continent.getName());
-                System.out.println("Visited countries: " + l_visited.size() + ", Total countries: " + l_continentCountries.size());
+            if (p_visitedCounts[c] != l_continentSize) {
+                System.out.println("Continent with disconnected sub-graphs found: " + p_continents.get(c).getName());
+                System.out.println("Visited countries: " + p_visitedCounts[c] + ", Total countries: " + l_continentSize);
                 return false;
             }
         }
@@ -176,18 +173,123 @@ public class MapValidator {
     }
 
     /**
-     * Performs a depth-first search (DFS) traversal of countries within a specific continent.
-     * Marks visited countries in the provided set and ensures traversal only within the given continent.
+     * Performs an iterative depth-first search (DFS) traversal of countries within a specific continent.
+     * The visited bitset is indexed by the position of each country within the continent, so it is
+     * private to the continent and tasks for different continents never share a word of it.
+     * Countries are marked when pushed, so each one is pushed at most once and the stack never holds
+     * more countries than the continent has. Long chains of countries cannot overflow the call stack.
      *
-     * @param p_country      The starting country for DFS traversal.
-     * @param p_visited      Set of visited countries during DFS traversal.
-     * @param p_continentID  ID of the continent being traversed.
+     * @param p_graph     Snapshot of the map graph.
+     * @param p_country   Dense index of the starting country for DFS traversal.
+     * @param p_visited   Cleared visited bitset with a bit for every country of the continent.
+     * @param p_stack     Stack space with room for every country of the continent.
+     * @param p_continent Dense index of the continent being traversed.
+     * @return The number of countries visited.
      */
-    private static void dfsContinent(Country p_country, Set<Country> p_visited, int p_continentID) {
-        p_visited.add(p_country);
-        for (Country neighbor : p_country.getNeighbours()) {
-            if (!p_visited.contains(neighbor) && neighbor.getContinentID() == p_continentID) {
-                dfsContinent(neighbor, p_visited, p_continentID);
+    private static int dfsContinent(MapGraph p_graph, int p_country, long[] p_visited, int[] p_stack, int p_continent) {
+        int l_top = 0;
+        int l_position = p_graph.positionInContinent(p_country);
+        p_visited[l_position >>> 6] |= 1L << l_position;
+        p_stack[l_top++] = p_country;
+        int l_visitedCount = 1;
+        while (l_top > 0) {
+            int l_country = p_stack[--l_top];
+            for (int e = p_graph.neighborStart(l_country); e < p_graph.neighborEnd(l_country); e++) {
+                int l_neighbor = p_graph.neighborAt(e);
+                if (p_graph.continentOf(l_neighbor) != p_continent) continue;
+                l_position = p_graph.positionInContinent(l_neighbor);
+                if ((p_visited[l_position >>> 6] & (1L << l_position)) == 0) {
+                    p_visited[l_position >>> 6] |= 1L << l_position;
+                    p_stack[l_top++] = l_neighbor;
+                    l_visitedCount++;
+                }
+            }
+        }
+        return l_visitedCount;
+    }
+
+    /**
+     * Marks the continents that have at least one country with a neighbor in another continent,
+     * splitting the range of countries between tasks.
+     * Tasks only ever write true into the shared array, so they need no synchronization.
+     */
+    private static class ConnectedContinentsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final MapGraph d_graph;
+        private final int d_from;
+        private final int d_to;
+        private final boolean[] d_isConnected;
+
+        ConnectedContinentsTask(MapGraph p_graph, int p_from, int p_to, boolean[] p_isConnected) {
+            this.d_graph = p_graph;
+            this.d_from = p_from;
+            this.d_to = p_to;
+            this.d_isConnected = p_isConnected;
+        }
+
+        @Override
+        protected void compute() {
+            if (d_to - d_from > SEQUENTIAL_THRESHOLD && getPool() != null) {
+                int l_middle = (d_from + d_to) >>> 1;
+                invokeAll(new ConnectedContinentsTask(d_graph, d_from, l_middle, d_isConnected),
+                        new ConnectedContinentsTask(d_graph, l_middle, d_to, d_isConnected));
+                return;
+            }
+            for (int i = d_from; i < d_to; i++) {
+                int l_continent = d_graph.continentOf(i);
+                if (l_continent < 0 || d_isConnected[l_continent]) continue;
+                // Check if the country has a neighbor in another continent
+                for (int e = d_graph.neighborStart(i); e < d_graph.neighborEnd(i); e++) {
+                    if (d_graph.continentOf(d_graph.neighborAt(e)) != l_continent) {
+                        d_isConnected[l_continent] = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts, for each continent of a range, the countries reached from its first country without
+     * leaving the continent. The range is split while it holds more than
+     * {@link #SEQUENTIAL_THRESHOLD} countries; each leaf reuses one bitset and one stack for its continents.
+     */
+    private static class ContinentTraversalTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final MapGraph d_graph;
+        private final int d_from;
+        private final int d_to;
+        private final int[] d_visitedCounts;
+
+        ContinentTraversalTask(MapGraph p_graph, int p_from, int p_to, int[] p_visitedCounts) {
+            this.d_graph = p_graph;
+            this.d_from = p_from;
+            this.d_to = p_to;
+            this.d_visitedCounts = p_visitedCounts;
+        }
+
+        @Override
+        protected void compute() {
+            int l_countries = 0;
+            int l_largest = 0;
+            for (int c = d_from; c < d_to; c++) {
+                l_countries += d_graph.continentSize(c);
+                l_largest = Math.max(l_largest, d_graph.continentSize(c));
+            }
+            if (d_to - d_from > 1 && l_countries > SEQUENTIAL_THRESHOLD && getPool() != null) {
+                int l_middle = (d_from + d_to) >>> 1;
+                invokeAll(new ContinentTraversalTask(d_graph, d_from, l_middle, d_visitedCounts),
+                        new ContinentTraversalTask(d_graph, l_middle, d_to, d_visitedCounts));
+                return;
+            }
+            long[] l_visited = new long[(l_largest + 63) >>> 6];
+            int[] l_stack = new int[l_largest];
+            for (int c = d_from; c < d_to; c++) {
+                int l_continentSize = d_graph.continentSize(c);
+                if (l_continentSize == 0) continue;
+                Arrays.fill(l_visited, 0, (l_continentSize + 63) >>> 6, 0L);
+                // Perform DFS traversal for the continent
+                d_visitedCounts[c] = dfsContinent(d_graph, d_graph.continentMember(c, 0), l_visited, l_stack, c);
             }
         }
     }
@@ -0,0 +1,113 @@
+package models.Order.Advance;
+
+import controllers.CombatResolver.CombatResolver;
+import models.Country.Country;
+import models.Enums.OrderType;
+import models.GameContext.GameContext;
+import models.Order.Order;
+import models.Player.Player;
+
+/**
+ * Represents an order to advance armies from a country to a neighbouring country.
+ * Advancing to a country of the same player moves the armies; advancing to any other country
+ * attacks it.
+ */
+public class AdvanceOrder implements Order {
+    private final Player d_player;
+    private final Country d_sourceCountry;
+    private final Country d_targetCountry;
+    private final int d_noOfArmies;
+
+    /**
+     * Initializes an advance order. The countries are resolved and checked when the order is issued.
+     *
+     * @param new_player     The player issuing the order.
+     * @param new_source     The country the armies leave.
+     * @param new_target     The neighbouring country the armies advance to.
+     * @param new_noOfArmies The number of armies to advance.
+     */
+    public AdvanceOrder(Player new_player, Country new_source, Country new_target, int new_noOfArmies) {
+        this.d_player = new_player;
+        this.d_sourceCountry = new_source;
+        this.d_targetCountry = new_target;
+        this.d_noOfArmies = new_noOfArmies;
+    }
+
+    public OrderType getName() {
+        return OrderType.ADVANCE;
+    }
+
+    /**
+     * Retrieves the player issuing the order.
+     *
+     * @return The player.
+     */
+    public Player getPlayer() {
+        return this.d_player;
+    }
+
+    /**
+     * Retrieves the country the armies leave.
+     *
+     * @return The source country.
+     */
+    public Country getSourceCountry() {
+        return this.d_sourceCountry;
+    }
+
+    /**
+     * Retrieves the country the armies advance to.
+     *
+     * @return The target country.
+     */
+    public Country getTargetCountry() {
+        return this.d_targetCountry;
+    }
+
+    /**
+     * Retrieves the number of armies to advance.
+     *
+     * @return The number of armies.
+     */
+    public int getNoOfArmies() {
+        return this.d_noOfArmies;
+    }
+
+    /**
+     * Executes the order on its own, fighting its battle at once.
+     *
+     * @param p_context The game the order is executed in.
+     */
+    public void execute(GameContext p_context) {
+        CombatResolver l_resolver = p_context.getCombatResolver();
+        execute(p_context, l_resolver);
+        l_resolver.resolve(p_context);
+    }
+
+    /**
+     * Executes the order as part of an execution round. A move takes effect at once, while an
+     * attack is queued in the resolver and fought when the round is resolved.
+     * Only the armies still on the source country advance, and nothing happens if the player
+     * no longer owns it.
+     *
+     * @param p_context  The game the order is executed in.
+     * @param p_resolver The resolver collecting the battles of the round.
+     */
+    public void execute(GameContext p_context, CombatResolver p_resolver) {
+        if (!d_player.owns(d_sourceCountry)) return;
+        int l_armies = Math.min(d_noOfArmies, d_sourceCountry.getArmiesDeployed());
+        if (l_armies <= 0) return;
+        if (d_player.owns(d_targetCountry)) {
+            d_sourceCountry.setArmiesDeployed(d_sourceCountry.getArmiesDeployed() - l_armies);
+            d_targetCountry.setArmiesDeployed(d_targetCountry.getArmiesDeployed() + l_armies);
+        } else {
+            p_resolver.addBattle(d_player, d_sourceCountry, d_targetCountry, l_armies);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Advancing " + this.d_noOfArmies + " armies from country " + this.d_sourceCountry.getID()
+                + " to country " + this.d_targetCountry.getID() + ".";
+    }
+}
@@ -2,39 +2,61 @@ package models.Order.Deploy;
 
 import models.Country.Country;
 import models.Enums.OrderType;
-import models.MapHolder.MapHolder;
+import models.GameContext.GameContext;
 import models.Order.Order;
 
 /**
  * Represents a deployment order to place armies on a country.
  */
 public class DeployOrder implements Order {
-    private int d_targetCountry;
-    private int d_noOfArmies;
+    private final Country d_targetCountry;
+    private final int d_noOfArmies;
 
     /**
      * Initializes a deployment order with the target country and number of armies to deploy.
+     * The country is resolved and checked when the order is issued, so executing the order
+     * needs no lookup.
      *
-     * @param new_countryID    The target country to deploy armies to.
+     * @param new_country    The target country to deploy armies to.
      * @param new_noOfArmies The number of armies to deploy.
      */
-    public DeployOrder(int new_countryID, int new_noOfArmies){
-        this.d_targetCountry = new_countryID;
+    public DeployOrder(Country new_country, int new_noOfArmies){
+        this.d_targetCountry = new_country;
         this.d_noOfArmies = new_noOfArmies;
     }
+
+    /**
+     * Retrieves the country the armies are deployed to.
+     *
+     * @return The target country.
+     */
+    public Country getTargetCountry(){
+        return this.d_targetCountry;
+    }
+
+    /**
+     * Retrieves the number of armies to deploy.
+     *
+     * @return The number of armies.
+     */
+    public int getNoOfArmies(){
+        return this.d_noOfArmies;
+    }
+
     public OrderType getName(){
         return OrderType.DEPLOY;
     };
     /**
      * Executes the deployment order.
+     *
+     * @param p_context The game the order is executed in.
      */
-    public void execute(){
-        Country country = MapHolder.getMap().getCountryByID(this.d_targetCountry);
-        country.setArmiesDeployed(this.d_noOfArmies);
+    public void execute(GameContext p_context){
+        this.d_targetCountry.setArmiesDeployed(this.d_targetCountry.getArmiesDeployed() + this.d_noOfArmies);
 
     }
     @Override
     public String toString(){
-        return "Deploying " + this.d_noOfArmies + " armies to reinforce country " + this.d_targetCountry + ".";
+        return "Deploying " + this.d_noOfArmies + " armies to reinforce country " + this.d_targetCountry.getID() + ".";
     }
 }
@@ -1,6 +1,7 @@
 package models.Order;
 
 import models.Enums.OrderType;
+import models.GameContext.GameContext;
 
 public interface Order {
     /**
@@ -10,6 +11,8 @@ public interface Order {
     OrderType getName();
     /**
      * Executes the order.
+     *
+     * @param p_context The game the order is executed in.
      */
-    void execute();
+    void execute(GameContext p_context);
 }
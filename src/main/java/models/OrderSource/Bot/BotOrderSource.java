@@ -0,0 +1,81 @@
+package models.OrderSource.Bot;
+
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.OrderSource.OrderSource;
+import models.Player.Player;
+
+import java.util.ArrayList;
+
+/**
+ * Simple bot that deploys all of its armies to one of its countries, picked with the strategy
+ * random number generator of the game, and then ends its turn. Games with the same seed play the same.
+ * An attacking bot then also advances the armies of each of its countries against a random
+ * neighbouring country it does not own before ending its turn.
+ */
+public class BotOrderSource implements OrderSource {
+    private final boolean d_attacks;
+    private int d_nextCountry;
+    private Country d_deployTarget;
+    private int d_deployedArmies;
+
+    /**
+     * Creates a bot that only deploys.
+     */
+    public BotOrderSource() {
+        this(false);
+    }
+
+    /**
+     * Creates a bot.
+     *
+     * @param p_attacks true for a bot that attacks after deploying.
+     */
+    public BotOrderSource(boolean p_attacks) {
+        this.d_attacks = p_attacks;
+    }
+
+    /**
+     * Chooses the next command of the bot.
+     *
+     * @param p_player  The player issuing the command.
+     * @param p_context The game the command is issued in.
+     * @return A deploy command while the bot has armies and countries, then advance commands for an
+     * attacking bot, and "endturn" otherwise.
+     */
+    @Override
+    public String nextCommand(Player p_player, GameContext p_context) {
+        ArrayList<Country> l_owned = p_player.getOwnedCountries();
+        if (l_owned.isEmpty()) return "endturn";
+        if (p_player.getNoOfArmies() > 0) {
+            d_deployTarget = l_owned.get(p_context.getStrategyRandom().nextInt(l_owned.size()));
+            d_deployedArmies = p_player.getNoOfArmies();
+            d_nextCountry = 0;
+            return "deploy " + d_deployTarget.getID() + " " + d_deployedArmies;
+        }
+        if (!d_attacks) return "endturn";
+        while (d_nextCountry < l_owned.size()) {
+            Country l_source = l_owned.get(d_nextCountry++);
+            // the deploy of this turn only reaches the country when the orders are executed
+            int l_armies = l_source.getArmiesDeployed() + (l_source == d_deployTarget ? d_deployedArmies : 0);
+            if (l_armies <= 0) continue;
+            Country l_target = pickEnemyNeighbour(p_player, l_source, p_context);
+            if (l_target != null) return "advance " + l_source.getID() + " " + l_target.getID() + " " + l_armies;
+        }
+        d_deployTarget = null;
+        return "endturn";
+    }
+
+    private static Country pickEnemyNeighbour(Player p_player, Country p_source, GameContext p_context) {
+        int l_enemies = 0;
+        for (Country l_neighbour : p_source.getNeighbours()) {
+            if (!p_player.owns(l_neighbour)) l_enemies++;
+        }
+        if (l_enemies == 0) return null;
+        int l_pick = p_context.getStrategyRandom().nextInt(l_enemies);
+        for (Country l_neighbour : p_source.getNeighbours()) {
+            if (!p_player.owns(l_neighbour) && l_pick-- == 0) return l_neighbour;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package models.OrderSource.Console;
+
+import models.GameContext.GameContext;
+import models.OrderSource.OrderSource;
+import models.Player.Player;
+
+import java.util.Scanner;
+
+/**
+ * Reads the commands of a player from the console.
+ * All console sources share one scanner, so input buffered for one player is not lost to another.
+ */
+public class ConsoleOrderSource implements OrderSource {
+    private static Scanner d_scanner;
+
+    /**
+     * Prompts the player and reads one line from the console.
+     *
+     * @param p_player  The player issuing the command.
+     * @param p_context The game the command is issued in.
+     * @return The line typed.
+     */
+    @Override
+    public String nextCommand(Player p_player, GameContext p_context) {
+        p_context.getOut().print("\nPlayer " + p_player.getName() + " please enter your next order: ");
+        return getScanner().nextLine();
+    }
+
+    private static synchronized Scanner getScanner() {
+        if (d_scanner == null) d_scanner = new Scanner(System.in);
+        return d_scanner;
+    }
+}
@@ -0,0 +1,71 @@
+package models.OrderSource.Journaling;
+
+import adapters.CommandJournal.CommandJournal;
+import models.GameContext.GameContext;
+import models.OrderSource.OrderSource;
+import models.Player.Player;
+
+import java.io.IOException;
+
+/**
+ * Records in a journal the commands of another order source that the player's turn accepted:
+ * commands that created an order or ended the turn. Rejected commands and commands that only
+ * display or save the game are not recorded, so replaying a journal neither repeats their output
+ * nor overwrites saved games. A command is recorded once it is accepted, before its order executes.
+ */
+public class JournalingOrderSource implements OrderSource {
+    private final OrderSource d_source;
+    private final CommandJournal d_journal;
+    private final int d_player;
+
+    /**
+     * Creates a source journaling the commands of another.
+     *
+     * @param p_source  The source of the commands.
+     * @param p_journal The journal to write to.
+     * @param p_player  The position of the player in the game.
+     */
+    public JournalingOrderSource(OrderSource p_source, CommandJournal p_journal, int p_player) {
+        this.d_source = p_source;
+        this.d_journal = p_journal;
+        this.d_player = p_player;
+    }
+
+    /**
+     * Retrieves the next command of the wrapped source.
+     *
+     * @param p_player  The player issuing the command.
+     * @param p_context The game the command is issued in.
+     * @return The command.
+     */
+    @Override
+    public String nextCommand(Player p_player, GameContext p_context) {
+        return d_source.nextCommand(p_player, p_context);
+    }
+
+    /**
+     * Records an accepted command and tells the wrapped source.
+     *
+     * @param p_player  The player who issued the command.
+     * @param p_context The game the command was issued in.
+     * @param p_command The command.
+     */
+    @Override
+    public void commandAccepted(Player p_player, GameContext p_context, String p_command) {
+        try {
+            d_journal.appendOrder(d_player, p_command.trim());
+        } catch (IOException e) {
+            System.out.println("\nThe command could not be written to the journal: " + e.getMessage());
+        }
+        d_source.commandAccepted(p_player, p_context, p_command);
+    }
+
+    /**
+     * Retrieves the wrapped source.
+     *
+     * @return The source of the commands.
+     */
+    public OrderSource getSource() {
+        return this.d_source;
+    }
+}
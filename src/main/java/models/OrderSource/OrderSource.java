@@ -0,0 +1,31 @@
+package models.OrderSource;
+
+import models.GameContext.GameContext;
+import models.Player.Player;
+
+/**
+ * Supplies the order commands a player issues, such as "deploy 5 3" or "endturn".
+ * Players read from the console by default; scripted and bot sources let games run without input.
+ */
+public interface OrderSource {
+    /**
+     * Retrieves the next command of a player.
+     *
+     * @param p_player  The player issuing the command.
+     * @param p_context The game the command is issued in.
+     * @return The command line, in the same syntax as typed on the console.
+     */
+    String nextCommand(Player p_player, GameContext p_context);
+
+    /**
+     * Tells the source that the last command it supplied was accepted: it created an order or
+     * ended the turn of the player. Commands that were rejected or only displayed information are
+     * not reported. Sources that do not care ignore it.
+     *
+     * @param p_player  The player who issued the command.
+     * @param p_context The game the command was issued in.
+     * @param p_command The command, as supplied by this source.
+     */
+    default void commandAccepted(Player p_player, GameContext p_context, String p_command) {
+    }
+}
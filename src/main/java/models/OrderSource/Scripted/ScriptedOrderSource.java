@@ -0,0 +1,76 @@
+package models.OrderSource.Scripted;
+
+import models.GameContext.GameContext;
+import models.OrderSource.OrderSource;
+import models.Player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a fixed list of commands, one per call, then ends every turn or hands over to
+ * another source.
+ */
+public class ScriptedOrderSource implements OrderSource {
+    private final ArrayList<String> d_commands;
+    private final OrderSource d_then;
+    private int d_next;
+    private boolean d_lastFromThen;
+
+    /**
+     * Creates a source replaying the given commands in order.
+     *
+     * @param p_commands The commands to replay.
+     */
+    public ScriptedOrderSource(List<String> p_commands) {
+        this(p_commands, null);
+    }
+
+    /**
+     * Creates a source replaying the given commands in order, then asking another source.
+     *
+     * @param p_commands The commands to replay.
+     * @param p_then     The source asked once the script is exhausted, or null to end every turn.
+     */
+    public ScriptedOrderSource(List<String> p_commands, OrderSource p_then) {
+        this.d_commands = new ArrayList<>(p_commands);
+        this.d_then = p_then;
+    }
+
+    /**
+     * Retrieves the next command of the script.
+     *
+     * @param p_player  The player issuing the command.
+     * @param p_context The game the command is issued in.
+     * @return The next command, or once the script is exhausted the command of the next source,
+     * or "endturn" if there is none.
+     */
+    @Override
+    public String nextCommand(Player p_player, GameContext p_context) {
+        d_lastFromThen = d_next >= d_commands.size() && d_then != null;
+        if (d_lastFromThen) return d_then.nextCommand(p_player, p_context);
+        if (d_next >= d_commands.size()) return "endturn";
+        return d_commands.get(d_next++);
+    }
+
+    /**
+     * Passes the acceptance of a command on to the next source when the command came from it.
+     *
+     * @param p_player  The player who issued the command.
+     * @param p_context The game the command was issued in.
+     * @param p_command The command.
+     */
+    @Override
+    public void commandAccepted(Player p_player, GameContext p_context, String p_command) {
+        if (d_lastFromThen) d_then.commandAccepted(p_player, p_context, p_command);
+    }
+
+    /**
+     * Checks whether every command of the script has been replayed.
+     *
+     * @return true if the script is exhausted.
+     */
+    public boolean isExhausted() {
+        return d_next >= d_commands.size();
+    }
+}
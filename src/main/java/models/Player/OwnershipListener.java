@@ -0,0 +1,24 @@
+package models.Player;
+
+import models.Country.Country;
+
+/**
+ * Notified whenever a player gains or loses a country.
+ */
+public interface OwnershipListener {
+    /**
+     * Called after a player gained a country.
+     *
+     * @param p_player  The new owner.
+     * @param p_country The country.
+     */
+    void countryGained(Player p_player, Country p_country);
+
+    /**
+     * Called after a player lost a country.
+     *
+     * @param p_player  The previous owner.
+     * @param p_country The country.
+     */
+    void countryLost(Player p_player, Country p_country);
+}
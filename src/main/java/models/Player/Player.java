@@ -2,15 +2,26 @@ package models.Player;
 
 import models.Country.Country;
 import models.Enums.GamePhase;
-import models.MapHolder.MapHolder;
+import models.GameContext.GameContext;
+import models.Order.Advance.AdvanceOrder;
 import models.Order.Deploy.DeployOrder;
 import models.Order.Order;
 
+import models.OrderSource.Console.ConsoleOrderSource;
+import models.OrderSource.OrderSource;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
 
 import static controllers.CommandHandler.CommandHandler.handleDisplayCommands;
 import static controllers.CommandHandler.CommandHandler.handleExitCommand;
+import static controllers.CommandHandler.CommandHandler.handleSaveGameCommand;
 import static utils.Feedback.displayCommandUnavailableMessage;
 import static views.MapView.PlayerView.displayPlayerList;
 
@@ -20,21 +31,34 @@ import static views.MapView.PlayerView.displayPlayerList;
 public class Player {
     private final String d_playerName;
     private ArrayList<Country> d_ownedCountries;
-    private ArrayList<Order> d_orders;
+    private final Set<Country> d_ownedCountrySet = new OwnedCountrySet();
+    private final ArrayDeque<Order> d_orders;
     private int d_noOfArmies;
     private boolean hasOrders;
     private boolean lastCommandValidForOrders;
+    private OrderSource d_orderSource;
+    private OwnershipListener d_ownershipListener;
 
-    private Scanner sc = new Scanner(System.in);
     /**
-     * Initializes a player with the given name.
+     * Initializes a player with the given name, issuing orders typed on the console.
      *
      * @param new_name The name of the player.
      */
     public Player(String new_name) {
+        this(new_name, new ConsoleOrderSource());
+    }
+
+    /**
+     * Initializes a player with the given name, issuing the orders of the given source.
+     *
+     * @param new_name        The name of the player.
+     * @param new_orderSource The source of the commands of the player.
+     */
+    public Player(String new_name, OrderSource new_orderSource) {
+        this.d_orderSource = new_orderSource;
         this.d_playerName = new_name;
         this.d_ownedCountries = new ArrayList<>();
-        this.d_orders = new ArrayList<>();
+        this.d_orders = new ArrayDeque<>();
         this.d_noOfArmies = 0;
         this.hasOrders=true;
         this.lastCommandValidForOrders= true;
@@ -51,14 +75,50 @@ public class Player {
     }
 
     /**
-     * Retrieves the list of orders issued by the player.
+     * Retrieves the queue of orders issued by the player, the next order to execute first.
      *
-     * @return The list of orders.
+     * @return The queue of orders.
      */
-    public ArrayList<Order> getOrders() {
+    public Deque<Order> getOrders() {
         return this.d_orders;
     }
 
+    /**
+     * Retrieves the source of the commands of the player.
+     *
+     * @return The order source.
+     */
+    public OrderSource getOrderSource() {
+        return this.d_orderSource;
+    }
+
+    /**
+     * Sets the source of the commands of the player.
+     *
+     * @param p_orderSource The order source.
+     */
+    public void setOrderSource(OrderSource p_orderSource) {
+        this.d_orderSource = p_orderSource;
+    }
+
+    /**
+     * Retrieves the listener notified when the player gains or loses a country.
+     *
+     * @return The listener, or null if there is none.
+     */
+    public OwnershipListener getOwnershipListener() {
+        return this.d_ownershipListener;
+    }
+
+    /**
+     * Sets the listener notified when the player gains or loses a country.
+     *
+     * @param p_ownershipListener The listener, or null to stop notifying.
+     */
+    public void setOwnershipListener(OwnershipListener p_ownershipListener) {
+        this.d_ownershipListener = p_ownershipListener;
+    }
+
     /**
      * Checks if the player has any pending orders.
      *
@@ -88,6 +148,8 @@ public class Player {
 
     /**
      * Retrieves the list of countries owned by the player.
+     * Change ownership through {@link #addOwnedCountry(Country)} and {@link #removeOwnedCountry(Country)}
+     * only, so that the owner recorded on each country stays in sync.
      *
      * @return The list of owned countries.
      */
@@ -95,15 +157,70 @@ public class Player {
         return this.d_ownedCountries;
     }
 
+    /**
+     * Retrieves a read-only set view of the countries owned by the player.
+     * Checking whether it contains a country takes constant time.
+     *
+     * @return The set of owned countries.
+     */
+    public Set<Country> getOwnedCountrySet() {
+        return this.d_ownedCountrySet;
+    }
+
+    /**
+     * Retrieves the number of countries owned by the player.
+     *
+     * @return The number of owned countries.
+     */
+    public int getOwnedCount() {
+        return this.d_ownedCountries.size();
+    }
+
+    /**
+     * Checks whether the player owns a country, in constant time.
+     *
+     * @param p_country The country to check.
+     * @return True if the player owns the country.
+     */
+    public boolean owns(Country p_country) {
+        return p_country != null && p_country.getOwner() == this;
+    }
+
     //setters
 
     /**
      * Adds a country to the list of countries owned by the player.
+     * A country owned by another player is taken from them.
      *
      * @param p_country The country to be added.
      */
     public void addOwnedCountry(Country p_country) {
+        Player l_previousOwner = p_country.getOwner();
+        if (l_previousOwner == this) return;
+        if (l_previousOwner != null) l_previousOwner.removeOwnedCountry(p_country);
+        p_country.setOwner(this, this.d_ownedCountries.size());
         this.d_ownedCountries.add(p_country);
+        if (this.d_ownershipListener != null) this.d_ownershipListener.countryGained(this, p_country);
+    }
+
+    /**
+     * Removes a country from the countries owned by the player, in constant time.
+     * The last owned country takes the place of the removed one.
+     *
+     * @param p_country The country to be removed.
+     * @return True if the player owned the country.
+     */
+    public boolean removeOwnedCountry(Country p_country) {
+        if (!owns(p_country)) return false;
+        int l_slot = p_country.getOwnerSlot();
+        Country l_last = this.d_ownedCountries.remove(this.d_ownedCountries.size() - 1);
+        if (l_last != p_country) {
+            this.d_ownedCountries.set(l_slot, l_last);
+            l_last.setOwner(this, l_slot);
+        }
+        p_country.setOwner(null, -1);
+        if (this.d_ownershipListener != null) this.d_ownershipListener.countryLost(this, p_country);
+        return true;
     }
 
     /**
@@ -133,28 +250,36 @@ public class Player {
 
     /**
      * Issues an order from the list of orders for the player and removes it from the list.
+     *
+     * @param p_context The game the order is issued in.
      */
-    public void issue_order() {
-        System.out.print("\nPlayer "+ this.getName() + " please enter your next order: ");
-        String[] l_commandParts= sc.nextLine().split(" ");
+    public void issue_order(GameContext p_context) {
+        OrderSource l_source = d_orderSource;
+        String l_command = l_source.nextCommand(this, p_context);
+        String[] l_commandParts= l_command.trim().split(" ");
         String l_commandName=l_commandParts[0];
         switch(l_commandName){
             case "deploy":
-                createDeployOrder(l_commandParts);
+                createDeployOrder(l_commandParts, p_context);
                 break;
             case "showarmies":
                 this.lastCommandValidForOrders=false;
-                System.out.print("\nArmies left to deploy for " + this.getName() + ": " + this.d_noOfArmies);
+                p_context.getOut().print("\nArmies left to deploy for " + this.getName() + ": " + this.d_noOfArmies);
                 break;
             case "showcommands":
                 this.lastCommandValidForOrders=false;
                 handleDisplayCommands(GamePhase.ISSUE_ORDERS);
                 break;
             case "advance":
+                createAdvanceOrder(l_commandParts, p_context);
                 break;
             case "showmap":
                 this.lastCommandValidForOrders=false;
-                displayPlayerList();
+                displayPlayerList(p_context);
+                break;
+            case "savegame":
+                this.lastCommandValidForOrders=false;
+                handleSaveGameCommand(String.join(" ", l_commandParts), p_context);
                 break;
             case "endturn":
                 this.hasOrders=false;
@@ -167,6 +292,10 @@ public class Player {
                 displayCommandUnavailableMessage(l_commandName,GamePhase.ISSUE_ORDERS);
                 break;
         }
+        // every command but endturn clears the flag unless it created an order
+        if (l_commandName.equals("endturn") || this.lastCommandValidForOrders) {
+            l_source.commandAccepted(this, p_context, l_command);
+        }
     }
 
     /**
@@ -175,10 +304,52 @@ public class Player {
      * @return The next order to be executed.
      */
     public Order next_order() {
-        if (this.d_orders.isEmpty()) return null;
-        Order l_order = this.d_orders.get(0);
-        this.d_orders.remove(0);
-        return l_order;
+        return this.d_orders.pollFirst();
+    }
+
+    /**
+     * Retrieves the next order to be executed by the player without removing it.
+     *
+     * @return The next order to be executed, or null if there is none.
+     */
+    public Order peekOrder() {
+        return this.d_orders.peekFirst();
+    }
+
+    /**
+     * Adds an order to the end of the queue of the player.
+     *
+     * @param p_order The order to add.
+     */
+    public void addOrder(Order p_order) {
+        this.d_orders.addLast(p_order);
+    }
+
+    /**
+     * Removes the pending orders of the player, in execution order, and adds them to a collection.
+     *
+     * @param p_target The collection receiving the orders.
+     * @return The number of orders moved.
+     */
+    public int drainOrders(Collection<? super Order> p_target) {
+        return drainOrders(p_target, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes at most the given number of pending orders of the player, in execution order,
+     * and adds them to a collection.
+     *
+     * @param p_target    The collection receiving the orders.
+     * @param p_maxOrders The largest number of orders to move.
+     * @return The number of orders moved.
+     */
+    public int drainOrders(Collection<? super Order> p_target, int p_maxOrders) {
+        int l_moved = 0;
+        while (l_moved < p_maxOrders && !this.d_orders.isEmpty()) {
+            p_target.add(this.d_orders.pollFirst());
+            l_moved++;
+        }
+        return l_moved;
     }
 
     /**
@@ -188,30 +359,122 @@ public class Player {
      *                  The first element is the command name.
      *                  The second element is the country ID.
      *                  The third element is the number of armies to deploy.
+     * @param p_context The game the order is issued in.
      */
 
-    public final void createDeployOrder(String[] p_command){
-        int countryID = Integer.parseInt(p_command[1]);
-        int noOfArmies= Integer.parseInt(p_command[2]);
+    public final void createDeployOrder(String[] p_command, GameContext p_context){
+        if (p_command.length != 3) {
+            this.lastCommandValidForOrders=false;
+            p_context.getOut().println("\nUsage: deploy <countryID> <num>");
+            return;
+        }
+        int countryID;
+        int noOfArmies;
+        try {
+            countryID = Integer.parseInt(p_command[1]);
+            noOfArmies = Integer.parseInt(p_command[2]);
+        } catch (NumberFormatException e) {
+            this.lastCommandValidForOrders=false;
+            p_context.getOut().println("\nCountry ID and number of armies must be numbers.");
+            return;
+        }
+        // deploying adds to the armies of the country, so a negative count would take armies away
+        if (noOfArmies <= 0) {
+            this.lastCommandValidForOrders=false;
+            p_context.getOut().println("\nThe number of armies must be positive.");
+            return;
+        }
         if(this.d_noOfArmies<noOfArmies){
             this.lastCommandValidForOrders=false;
-            System.out.println("\nYou do not have enough armies.");
+            p_context.getOut().println("\nYou do not have enough armies.");
             return;
         }
-        Country country = MapHolder.getMap().getCountryByID(countryID);
+        Country country = p_context.getMap().getCountryByID(countryID);
         if (country == null) {
             this.lastCommandValidForOrders=false;
-            System.out.println("\nInvalid country ID. Country does not exist.");
+            p_context.getOut().println("\nInvalid country ID. Country does not exist.");
             return;
         }
-        if(!this.getOwnedCountries().contains(country)){
+        if(!owns(country)){
             this.lastCommandValidForOrders=false;
-            System.out.println("\nCannot deploy armies to country " +countryID+". You do not own this country. Please select a country that you own to deploy your armies");
+            p_context.getOut().println("\nCannot deploy armies to country " +countryID+". You do not own this country. Please select a country that you own to deploy your armies");
             return;
         }
-        this.d_orders.add(new DeployOrder(countryID,noOfArmies));
+        addOrder(new DeployOrder(country,noOfArmies));
         this.d_noOfArmies-=noOfArmies;
         this.lastCommandValidForOrders=true;
-        System.out.println("\nDeploy order created.");
+        p_context.getOut().println("\nDeploy order created.");
+    }
+
+    /**
+     * Creates an advance order based on the provided command array.
+     * The armies on the source country are only counted when the order is executed, so armies
+     * deployed earlier in the same turn can advance.
+     *
+     * @param p_command An array containing the command arguments.
+     *                  The first element is the command name.
+     *                  The second element is the ID of the country the armies leave.
+     *                  The third element is the ID of the neighbouring country they advance to.
+     *                  The fourth element is the number of armies to advance.
+     * @param p_context The game the order is issued in.
+     */
+    public final void createAdvanceOrder(String[] p_command, GameContext p_context){
+        this.lastCommandValidForOrders=false;
+        if (p_command.length != 4) {
+            p_context.getOut().println("\nUsage: advance <countryFromID> <countryToID> <num>");
+            return;
+        }
+        int l_sourceID;
+        int l_targetID;
+        int l_noOfArmies;
+        try {
+            l_sourceID = Integer.parseInt(p_command[1]);
+            l_targetID = Integer.parseInt(p_command[2]);
+            l_noOfArmies = Integer.parseInt(p_command[3]);
+        } catch (NumberFormatException e) {
+            p_context.getOut().println("\nCountry IDs and number of armies must be numbers.");
+            return;
+        }
+        Country l_source = p_context.getMap().getCountryByID(l_sourceID);
+        Country l_target = p_context.getMap().getCountryByID(l_targetID);
+        if (l_source == null || l_target == null) {
+            p_context.getOut().println("\nInvalid country ID. Country does not exist.");
+            return;
+        }
+        if (!owns(l_source)) {
+            p_context.getOut().println("\nCannot advance armies from country " + l_sourceID + ". You do not own this country.");
+            return;
+        }
+        if (!l_source.getNeighbours().contains(l_target)) {
+            p_context.getOut().println("\nCountry " + l_targetID + " is not a neighbor of country " + l_sourceID + ".");
+            return;
+        }
+        if (l_noOfArmies <= 0) {
+            p_context.getOut().println("\nThe number of armies must be positive.");
+            return;
+        }
+        addOrder(new AdvanceOrder(this, l_source, l_target, l_noOfArmies));
+        this.lastCommandValidForOrders=true;
+        p_context.getOut().println("\nAdvance order created.");
+    }
+
+    /**
+     * Read-only set view of the owned countries, answering membership from the owner of the country.
+     */
+    private class OwnedCountrySet extends AbstractSet<Country> {
+        @Override
+        public boolean contains(Object p_country) {
+            return p_country instanceof Country && owns((Country) p_country);
+        }
+
+        @Override
+        public Iterator<Country> iterator() {
+            return Collections.unmodifiableList(d_ownedCountries).iterator();
+        }
+
+        @Override
+        public int size() {
+            return d_ownedCountries.size();
+        }
     }
 }
@@ -4,7 +4,6 @@ import controllers.GameEngine.GameEngine;
 import models.Continent.Continent;
 import models.Country.Country;
 import models.Map.Map;
-import models.MapHolder.MapHolder;
 
 import java.util.ArrayList;
 
@@ -12,9 +11,12 @@ import java.util.ArrayList;
  * The MapView class provides methods to display information about countries and continents on a map.
  */
 public class MapView {
-    private static Map map;
-    public static void displayMapInformation() {
-        map= MapHolder.getMap();
+    /**
+     * Displays the countries of a map with their continents and neighbours.
+     *
+     * @param map The map to display.
+     */
+    public static void displayMapInformation(Map map) {
         if(map.getContinents().isEmpty()){
             System.out.println("\nThe map is currently empty or has not been loaded yet. " +
                     "Please load a map or add elements to the map before using the 'showmap' command.");
@@ -2,10 +2,9 @@ package views.MapView;
 
 import models.Continent.Continent;
 import models.Country.Country;
+import models.GameContext.GameContext;
 import models.Map.Map;
-import models.MapHolder.MapHolder;
 import models.Player.Player;
-import models.PlayerHolder.PlayerHolder;
 
 import java.util.ArrayList;
 /**
@@ -15,9 +14,11 @@ public class PlayerView {
 
     /**
      * Displays the list of players along with their owned countries on the provided map..
+     *
+     * @param p_context The game whose players are displayed.
      */
-    public static void displayPlayerList() {
-        displayPlayerCountries(PlayerHolder.getPlayers(), MapHolder.getMap());
+    public static void displayPlayerList(GameContext p_context) {
+        displayPlayerCountries(p_context.getPlayers(), p_context.getMap());
 
     }
 
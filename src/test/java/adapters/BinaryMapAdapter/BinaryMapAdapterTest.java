@@ -0,0 +1,120 @@
+package adapters.BinaryMapAdapter;
+
+import adapters.FileAdapter.FileAdapter;
+import controllers.MapEditor.MapEditor;
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryMapAdapterTest {
+
+    @Test
+    void writeAndLoad_RoundTrip(@TempDir Path tempDir) throws IOException {
+        Map text = load(new File(FileAdapter.BASE_PATH + "europass.map"));
+        File binaryFile = tempDir.resolve("europass" + BinaryMapAdapter.EXTENSION).toFile();
+        BinaryMapAdapter.write(binaryFile, text);
+
+        assertTrue(BinaryMapAdapter.isBinaryMapFile(binaryFile));
+        assertFalse(BinaryMapAdapter.isBinaryMapFile(new File(FileAdapter.BASE_PATH + "europass.map")));
+        assertTrue(binaryFile.length() < new File(FileAdapter.BASE_PATH + "europass.map").length());
+
+        Map binary = load(binaryFile);
+        assertEquals(text.getContinents().size(), binary.getContinents().size());
+        assertEquals(text.getCountries().size(), binary.getCountries().size());
+        for (int i = 0; i < text.getContinents().size(); i++) {
+            assertEquals(text.getContinents().get(i).getID(), binary.getContinents().get(i).getID());
+            assertEquals(text.getContinents().get(i).getName(), binary.getContinents().get(i).getName());
+            assertEquals(text.getContinents().get(i).getArmyBonus(), binary.getContinents().get(i).getArmyBonus());
+        }
+        for (int i = 0; i < text.getCountries().size(); i++) {
+            Country expected = text.getCountries().get(i);
+            Country actual = binary.getCountries().get(i);
+            assertEquals(expected.getID(), actual.getID());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getContinentID(), actual.getContinentID());
+            assertEquals(expected.getNeighbours().size(), actual.getNeighbours().size());
+            for (int j = 0; j < expected.getNeighbours().size(); j++) {
+                assertSame(binary.getCountryByID(expected.getNeighbours().get(j).getID()), actual.getNeighbours().get(j));
+            }
+        }
+    }
+
+    @Test
+    void decode_RejectsCorruptInput() {
+        byte[] encoded = BinaryMapAdapter.encode(load(new File(FileAdapter.BASE_PATH + "europass.map")));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        assertThrows(IOException.class, () -> BinaryMapAdapter.decode(truncated, new Map(), null));
+        assertThrows(IOException.class, () -> BinaryMapAdapter.decode("[continents]".getBytes(), new Map(), null));
+    }
+
+    @Test
+    void decode_RejectsCountsLargerThanInput() {
+        // magic, version, then 2^31 - 1 countries in five varint bytes
+        byte[] header = {'W', 'Z', 'M', 'B', 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0};
+        Map map = new Map();
+        assertThrows(IOException.class, () -> BinaryMapAdapter.decode(header, map, null));
+        assertTrue(map.getCountries().isEmpty());
+    }
+
+    @Test
+    void decode_FailureLeavesMapAsItWas() {
+        Map text = load(new File(FileAdapter.BASE_PATH + "europass.map"));
+        byte[] encoded = BinaryMapAdapter.encode(text);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 2);
+
+        Map empty = new Map();
+        assertThrows(IOException.class, () -> BinaryMapAdapter.decode(truncated, empty, null));
+        assertTrue(empty.getContinents().isEmpty());
+        assertTrue(empty.getCountries().isEmpty());
+        assertNull(empty.getCountryByID(text.getCountries().get(0).getID()));
+        assertEquals(0, empty.getIndexBound());
+
+        Map filled = new Map();
+        Country existing = new Country(1, "Existing", 1);
+        filled.addCountry(existing);
+        assertThrows(IOException.class, () -> BinaryMapAdapter.decode(truncated, filled, null));
+        assertEquals(1, filled.getCountries().size());
+        assertSame(existing, filled.getCountryByID(1));
+    }
+
+    @Test
+    void isFileExists_PrefersNewerBinaryFile() throws IOException {
+        File textFile = new File(FileAdapter.BASE_PATH + "binarytest.map");
+        File binaryFile = new File(FileAdapter.BASE_PATH + "binarytest" + BinaryMapAdapter.EXTENSION);
+        try {
+            Files.writeString(textFile.toPath(), "[continents]\n");
+            assertEquals(textFile.getAbsolutePath(), FileAdapter.isFileExists("binarytest").getAbsolutePath());
+
+            Files.write(binaryFile.toPath(), BinaryMapAdapter.encode(new Map()));
+            assertTrue(binaryFile.setLastModified(textFile.lastModified() + 1000));
+            assertEquals(binaryFile.getAbsolutePath(), FileAdapter.isFileExists("binarytest").getAbsolutePath());
+            assertEquals(textFile.getAbsolutePath(), FileAdapter.isFileExists("binarytest.map").getAbsolutePath());
+
+            assertTrue(textFile.setLastModified(binaryFile.lastModified() + 1000));
+            assertEquals(textFile.getAbsolutePath(), FileAdapter.isFileExists("binarytest").getAbsolutePath());
+        } finally {
+            Files.deleteIfExists(textFile.toPath());
+            Files.deleteIfExists(binaryFile.toPath());
+        }
+    }
+
+    private Map load(File p_file) {
+        Map l_map = new Map();
+        try {
+            new MapEditor(new GameContext(l_map)).loadMap(p_file);
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+        return l_map;
+    }
+}
@@ -0,0 +1,92 @@
+package adapters.CommandJournal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandJournalTest {
+
+    @Test
+    void read_ReturnsEntriesWritten(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("game.journal").toFile();
+        try (CommandJournal journal = new CommandJournal(file, 2)) {
+            journal.appendSeed(-7L);
+            journal.appendSetup("loadmap europass.map");
+            journal.appendSetup("startgame");
+            journal.appendOrder(0, "deploy 1 3");
+            journal.appendOrder(1, "deploy 2 3");
+            journal.appendOrder(0, "endturn");
+            journal.appendTurn(1);
+            journal.appendCheckpoint(1, new File("game.journal.1.snap"));
+            journal.appendOrder(1, "advance 2 1 3");
+        }
+        // a crash in the middle of a write leaves a torn last line
+        Files.writeString(file.toPath(), "order 1", StandardOpenOption.APPEND);
+
+        CommandJournal.Contents contents = CommandJournal.read(file);
+        assertEquals(-7L, contents.getSeed());
+        assertEquals(List.of("loadmap europass.map", "startgame"), contents.getSetupCommands());
+        assertEquals(1, contents.getTurns());
+        assertEquals(1, contents.getCheckpointTurn());
+        assertEquals("game.journal.1.snap", contents.getCheckpointFile());
+        assertEquals(List.of("deploy 1 3", "endturn"), contents.getOrders(0, false));
+        assertEquals(List.of(), contents.getOrders(0, true));
+        assertEquals(List.of("advance 2 1 3"), contents.getOrders(1, true));
+    }
+
+    @Test
+    void constructor_AppendsToExistingJournal(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("game.journal").toFile();
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            journal.appendSeed(1L);
+            journal.appendOrder(0, "deploy 1 3");
+        }
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            journal.appendOrder(0, "endturn");
+        }
+        assertEquals(List.of("deploy 1 3", "endturn"), CommandJournal.read(file).getOrders(0, false));
+    }
+
+    @Test
+    void read_IgnoresTornEntryThatStillParses(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("game.journal").toFile();
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            journal.appendSeed(1L);
+            journal.appendOrder(1, "deploy 2 3");
+            journal.appendTurn(1);
+        }
+        // "order 1 deploy 2 3" and "turn 12" cut off by a crash
+        Files.writeString(file.toPath(), "turn 1", StandardOpenOption.APPEND);
+        assertEquals(1, CommandJournal.read(file).getTurns());
+        Files.writeString(file.toPath(), "seed 1\norder 1 deploy 2 3\nturn 1\norder 1 deploy 2");
+        assertEquals(List.of("deploy 2 3"), CommandJournal.read(file).getOrders(1, false));
+    }
+
+    @Test
+    void constructor_CutsTornEntryBeforeAppending(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("game.journal").toFile();
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            journal.appendSeed(1L);
+            journal.appendOrder(0, "deploy 1 3");
+        }
+        Files.writeString(file.toPath(), "order 0 deploy 1", StandardOpenOption.APPEND);
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            journal.appendOrder(0, "deploy 3 5");
+        }
+        assertEquals(List.of("deploy 1 3", "deploy 3 5"), CommandJournal.read(file).getOrders(0, false));
+        assertTrue(Files.readString(file.toPath()).endsWith("order 0 deploy 3 5\n"));
+
+        // a journal that is nothing but a torn entry is emptied
+        Files.writeString(file.toPath(), "seed 12");
+        new CommandJournal(file, 1).close();
+        assertEquals(0, file.length());
+    }
+}
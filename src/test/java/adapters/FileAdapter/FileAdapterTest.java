@@ -41,4 +41,18 @@ public class FileAdapterTest {
        //function should return null when file does not exist;
         assertNull(FileAdapter.isFileExists(fileName));
     }
-}
\ No newline at end of file
+
+    @Test
+    void isFileExists_CompressedFile() throws IOException {
+        File compressed = new File(FileAdapter.BASE_PATH + "compressedtest.map.gz");
+        try {
+            assertTrue(compressed.createNewFile(), "Failed to create test file");
+            assertEquals(compressed.getAbsolutePath(), FileAdapter.isFileExists("compressedtest").getAbsolutePath());
+            assertEquals(compressed.getAbsolutePath(), FileAdapter.isFileExists("compressedtest.map").getAbsolutePath());
+            assertEquals(compressed.getAbsolutePath(), FileAdapter.isFileExists("compressedtest.map.gz").getAbsolutePath());
+            assertEquals(compressed.getAbsolutePath(), FileAdapter.createCompressedFile("compressedtest", false).getAbsolutePath());
+        } finally {
+            assertTrue(compressed.delete(), "Failed to delete test file");
+        }
+    }
+}
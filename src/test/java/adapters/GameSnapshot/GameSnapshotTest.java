@@ -0,0 +1,110 @@
+package adapters.GameSnapshot;
+
+import adapters.FileAdapter.FileAdapter;
+import controllers.GameEngine.GameEngine;
+import controllers.MapEditor.MapEditor;
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import models.Order.Advance.AdvanceOrder;
+import models.Order.Deploy.DeployOrder;
+import models.OrderSource.Bot.BotOrderSource;
+import models.Player.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+
+    @Test
+    void read_RestoredGameContinuesIdentically(@TempDir Path tempDir) throws IOException {
+        GameEngine original = newGame(21L);
+        original.runHeadless(bots(), 5);
+        File file = tempDir.resolve("game.snap").toFile();
+        GameSnapshot.write(file, original.getContext());
+
+        GameContext restoredContext = new GameContext(new Map(), 0L);
+        assertEquals(5, GameSnapshot.read(file, restoredContext));
+        assertEquals(describe(original.getContext()), describe(restoredContext));
+
+        for (Player player : restoredContext.getPlayers()) {
+            player.setOrderSource(new BotOrderSource(true));
+        }
+        restoredContext.setQuiet(true);
+        GameEngine restored = new GameEngine(restoredContext);
+        restored.resumeGame();
+        original.playTurns(5);
+        restored.playTurns(5);
+        assertEquals(describe(original.getContext()), describe(restoredContext));
+    }
+
+    @Test
+    void decode_RestoresPendingOrders() throws IOException {
+        GameEngine original = newGame(8L);
+        original.runHeadless(bots(), 2);
+        Player first = original.getContext().getPlayers().get(0);
+        Country source = first.getOwnedCountries().get(0);
+        Country target = source.getNeighbours().get(0);
+        first.addOrder(new DeployOrder(source, 2));
+        first.addOrder(new AdvanceOrder(first, source, target, 1));
+        first.setNoOfArmies(first.getNoOfArmies() - 2);
+        original.getContext().getPlayers().get(1).setHasOrders(false);
+
+        GameContext restoredContext = new GameContext(new Map(), 0L);
+        GameSnapshot.decode(GameSnapshot.encode(original.getContext()), restoredContext);
+        assertEquals(2, restoredContext.getTurn());
+        Player restoredFirst = restoredContext.getPlayers().get(0);
+        assertEquals(first.getNoOfArmies(), restoredFirst.getNoOfArmies());
+        assertTrue(restoredFirst.hasOrders());
+        assertFalse(restoredContext.getPlayers().get(1).hasOrders());
+        assertEquals(first.getOrders().toString(), restoredFirst.getOrders().toString());
+        AdvanceOrder advance = (AdvanceOrder) restoredFirst.getOrders().peekLast();
+        assertSame(restoredContext.getMap().getCountryByID(target.getID()), advance.getTargetCountry());
+        assertEquals(target.getOwner().getName(), advance.getTargetCountry().getOwner().getName());
+    }
+
+    @Test
+    void decode_RejectsCorruptInput() {
+        byte[] encoded = GameSnapshot.encode(newGame(1L).getContext());
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+        assertThrows(IOException.class, () -> GameSnapshot.decode(truncated, new GameContext()));
+        assertThrows(IOException.class, () -> GameSnapshot.decode(new byte[]{1, 2, 3}, new GameContext()));
+    }
+
+    private GameEngine newGame(long p_seed) {
+        GameContext context = new GameContext(new Map(), p_seed);
+        try {
+            new MapEditor(context).loadMap(new File(FileAdapter.BASE_PATH + "europass.map"));
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+        return new GameEngine(context);
+    }
+
+    private ArrayList<Player> bots() {
+        ArrayList<Player> players = new ArrayList<>();
+        players.add(new Player("Bot1", new BotOrderSource(true)));
+        players.add(new Player("Bot2", new BotOrderSource(true)));
+        return players;
+    }
+
+    private String describe(GameContext p_context) {
+        StringBuilder description = new StringBuilder();
+        for (Player player : p_context.getPlayers()) {
+            description.append(player.getName()).append(' ').append(player.getNoOfArmies()).append(':');
+            for (Country country : player.getOwnedCountries()) {
+                description.append(' ').append(country.getID()).append('=').append(country.getArmiesDeployed());
+            }
+            description.append('\n');
+        }
+        description.append(p_context.getRandom().nextLong()).append(' ').append(p_context.getStrategyRandom().nextLong());
+        return description.toString();
+    }
+}
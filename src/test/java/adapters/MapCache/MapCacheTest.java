@@ -0,0 +1,100 @@
+package adapters.MapCache;
+
+import controllers.MapEditor.MapEditor;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapCacheTest {
+    private static final String MAP_CONTENT = "[continents]\nAsia 5\n\n[countries]\n1 India 1\n2 Nepal 1\n\n[borders]\n1 2\n2 1\n";
+
+    @Test
+    void loadMap_HitsUntilFileChanges(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("cached.map").toFile();
+        Files.writeString(file.toPath(), MAP_CONTENT);
+        MapCache cache = new MapCache(MapCache.DEFAULT_MAX_BYTES);
+
+        Map first = load(file, cache);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.size());
+
+        Map second = load(file, cache);
+        assertEquals(1, cache.getHits());
+        assertNotSame(first.getCountryByID(1), second.getCountryByID(1));
+        assertEquals("Nepal", second.getCountryByID(1).getNeighbours().get(0).getName());
+
+        // edits on a loaded copy do not reach the cache
+        second.getCountryByID(1).removeNeighbor(second.getCountryByID(2));
+        assertEquals(1, load(file, cache).getCountryByID(1).getNeighbours().size());
+        assertEquals(2, cache.getHits());
+
+        Files.writeString(file.toPath(), MAP_CONTENT + "\n");
+        Map changed = load(file, cache);
+        assertEquals(2, cache.getHits());
+        assertEquals(2, changed.getCountries().size());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsed(@TempDir Path tempDir) throws IOException {
+        File[] files = new File[3];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = tempDir.resolve("map" + i + ".map").toFile();
+            Files.writeString(files[i].toPath(), MAP_CONTENT);
+        }
+        MapCache sizing = new MapCache(MapCache.DEFAULT_MAX_BYTES);
+        load(files[0], sizing);
+        MapCache cache = new MapCache(sizing.getBytes() * 2);
+
+        load(files[0], cache);
+        load(files[1], cache);
+        load(files[0], cache);
+        load(files[2], cache);
+        assertEquals(2, cache.size());
+        assertTrue(cache.getBytes() <= sizing.getBytes() * 2);
+
+        long hits = cache.getHits();
+        load(files[0], cache);
+        assertEquals(hits + 1, cache.getHits());
+        load(files[1], cache);
+        assertEquals(hits + 1, cache.getHits());
+    }
+
+    @Test
+    void mapEditor_UsesCacheOfItsGame(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("cached.map").toFile();
+        Files.writeString(file.toPath(), MAP_CONTENT);
+        GameContext first = new GameContext();
+        GameContext second = new GameContext();
+        assertNotSame(first.getMapCache(), second.getMapCache());
+
+        new MapEditor(first).loadMap(file);
+        MapEditor other = new MapEditor(second);
+        other.loadMap(file);
+        assertFalse(other.isLastLoadCached());
+        assertEquals(1, first.getMapCache().size());
+        assertEquals(0, first.getMapCache().getHits());
+
+        GameContext sharing = new GameContext();
+        sharing.setMapCache(first.getMapCache());
+        MapEditor shared = new MapEditor(sharing);
+        shared.loadMap(file);
+        assertTrue(shared.isLastLoadCached());
+        assertEquals(1, first.getMapCache().getHits());
+    }
+
+    private Map load(File p_file, MapCache p_cache) throws IOException {
+        Map l_map = new Map();
+        MapEditor l_mapEditor = new MapEditor(new GameContext(l_map));
+        l_mapEditor.setMapCache(p_cache);
+        l_mapEditor.loadMap(p_file);
+        return l_map;
+    }
+}
@@ -0,0 +1,115 @@
+package controllers.CombatResolver;
+
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import models.Player.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CombatResolverTest {
+    private GameContext context;
+    private Country source;
+    private Country second;
+    private Country target;
+    private Player attacker;
+    private Player defender;
+
+    @BeforeEach
+    void setUp() {
+        Map map = new Map();
+        source = new Country(1, "Source", 1);
+        second = new Country(2, "Second", 1);
+        target = new Country(3, "Target", 1);
+        map.addCountry(source);
+        map.addCountry(second);
+        map.addCountry(target);
+        context = new GameContext(map, 11L);
+        context.setQuiet(true);
+        attacker = new Player("Attacker");
+        defender = new Player("Defender");
+        attacker.addOwnedCountry(source);
+        attacker.addOwnedCountry(second);
+        defender.addOwnedCountry(target);
+    }
+
+    @Test
+    void resolve_OverwhelmingAttackConquers() {
+        source.setArmiesDeployed(100);
+        target.setArmiesDeployed(1);
+        CombatResolver resolver = new CombatResolver();
+        resolver.addBattle(attacker, source, target, 100);
+        assertEquals(0, source.getArmiesDeployed());
+        assertEquals(1, resolver.getBattleCount());
+
+        assertEquals(1, resolver.resolve(context));
+        assertSame(attacker, target.getOwner());
+        assertEquals(1, resolver.getDefenderLosses(0));
+        assertEquals(100 - resolver.getAttackerLosses(0), target.getArmiesDeployed());
+        assertEquals(0, defender.getOwnedCount());
+        assertEquals(0, resolver.getBattleCount());
+    }
+
+    @Test
+    void resolve_FailedAttackReturnsSurvivors() {
+        source.setArmiesDeployed(5);
+        target.setArmiesDeployed(1000);
+        CombatResolver resolver = new CombatResolver();
+        resolver.addBattle(attacker, source, target, 4);
+
+        assertEquals(0, resolver.resolve(context));
+        assertSame(defender, target.getOwner());
+        int survivors = 4 - resolver.getAttackerLosses(0);
+        assertEquals(1 + survivors, source.getArmiesDeployed());
+        assertEquals(1000 - resolver.getDefenderLosses(0), target.getArmiesDeployed());
+    }
+
+    @Test
+    void resolve_LaterArmiesMoveIntoConqueredCountry() {
+        source.setArmiesDeployed(100);
+        second.setArmiesDeployed(7);
+        CombatResolver resolver = new CombatResolver();
+        resolver.addBattle(attacker, source, target, 100);
+        resolver.addBattle(attacker, second, target, 7);
+
+        assertEquals(1, resolver.resolve(context));
+        assertSame(attacker, target.getOwner());
+        assertEquals(107, target.getArmiesDeployed());
+        assertEquals(0, resolver.getAttackerLosses(1));
+    }
+
+    @Test
+    void resolve_SurvivorsLostWhenSourceConqueredInSameRound() {
+        source.setArmiesDeployed(25);
+        target.setArmiesDeployed(120);
+        CombatResolver resolver = new CombatResolver();
+        // the defender counter-attacks first and takes the country the attack comes from
+        resolver.addBattle(defender, target, source, 100);
+        resolver.addBattle(attacker, source, target, 20);
+
+        assertEquals(1, resolver.resolve(context));
+        assertSame(defender, source.getOwner());
+        assertSame(defender, target.getOwner());
+        assertTrue(resolver.getAttackerLosses(1) < 20);
+        assertEquals(100 - resolver.getAttackerLosses(0), source.getArmiesDeployed());
+        assertEquals(20 - resolver.getDefenderLosses(1), target.getArmiesDeployed());
+    }
+
+    @Test
+    void resolve_SameSeedSameOutcome() {
+        int[] losses = new int[2];
+        for (int run = 0; run < 2; run++) {
+            setUp();
+            context = new GameContext(context.getMap(), 5L);
+            source.setArmiesDeployed(50);
+            target.setArmiesDeployed(50);
+            CombatResolver resolver = new CombatResolver();
+            resolver.addBattle(attacker, source, target, 50);
+            resolver.resolve(context);
+            losses[run] = resolver.getAttackerLosses(0) * 1000 + resolver.getDefenderLosses(0);
+        }
+        assertEquals(losses[0], losses[1]);
+    }
+}
@@ -1,13 +1,21 @@
 package controllers.CommandHandler;
 
+import adapters.FileAdapter.FileAdapter;
+import controllers.GameEngine.GameEngine;
 import controllers.MapEditor.MapEditor;
+import models.Country.Country;
+import models.Map.Map;
+import models.OrderSource.Bot.BotOrderSource;
 import models.Player.Player;
-import models.PlayerHolder.PlayerHolder;
+import models.GameContext.GameContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,22 +53,23 @@ class CommandHandlerTest {
         // Simulate players owning different numbers of countries
         // Player1 owns 9 countries, player2 owns 8, player3 owns 7
         for (int i = 0; i < 9; i++) {
-            player1.addOwnedCountry(null); // Add dummy countries
+            player1.addOwnedCountry(new Country("Dummy" + i, 1)); // Add dummy countries
         }
         for (int i = 0; i < 5; i++) {
-            player2.addOwnedCountry(null);
+            player2.addOwnedCountry(new Country("Dummy" + i, 1));
         }
         for (int i = 0; i < 12; i++) {
-            player3.addOwnedCountry(null);
+            player3.addOwnedCountry(new Country("Dummy" + i, 1));
         }
         // Create a list of players
         ArrayList<Player> players = new ArrayList<>();
         players.add(player1);
         players.add(player2);
         players.add(player3);
-        PlayerHolder.setPlayers(players);
+        GameContext context = new GameContext();
+        context.setPlayers(players);
         // Call the method to assign reinforcements
-        CommandHandler.assignReinforcements();
+        CommandHandler.assignReinforcements(context);
 
 
         // Check the number of armies assigned to each player
@@ -73,4 +82,30 @@ class CommandHandlerTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleSaveGameAndLoadGameCommand() throws IOException {
+        GameContext context = new GameContext(new Map(), 4L);
+        new MapEditor(context).loadMap(new File(FileAdapter.BASE_PATH + "europass.map"));
+        ArrayList<Player> players = new ArrayList<>();
+        players.add(new Player("Bot1", new BotOrderSource(true)));
+        players.add(new Player("Bot2", new BotOrderSource(true)));
+        new GameEngine(context).runHeadless(players, 3);
+        File file = FileAdapter.createSaveFile("commandhandlertest");
+        try {
+            CommandHandler.handleSaveGameCommand("savegame commandhandlertest", context);
+            assertTrue(file.exists());
+
+            GameContext restored = new GameContext();
+            restored.setQuiet(true);
+            outputStreamCaptor.reset();
+            assertTrue(CommandHandler.handleLoadGameCommand("loadgame commandhandlertest", restored));
+            assertEquals("", outputStreamCaptor.toString());
+            assertEquals(3, restored.getTurn());
+            assertEquals(context.getPlayers().get(0).getOwnedCount(), restored.getPlayers().get(0).getOwnedCount());
+            assertFalse(CommandHandler.handleLoadGameCommand("loadgame commandhandlertest-missing", new GameContext()));
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+}
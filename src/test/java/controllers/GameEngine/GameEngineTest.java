@@ -0,0 +1,199 @@
+package controllers.GameEngine;
+
+import adapters.CommandJournal.CommandJournal;
+import adapters.FileAdapter.FileAdapter;
+import controllers.MapEditor.MapEditor;
+import models.Country.Country;
+import models.Enums.GamePhase;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import models.OrderSource.Bot.BotOrderSource;
+import models.OrderSource.Journaling.JournalingOrderSource;
+import models.OrderSource.OrderSource;
+import models.OrderSource.Scripted.ScriptedOrderSource;
+import models.Player.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameEngineTest {
+
+    @Test
+    void runHeadless_BotsPlayAllTurnsQuietly() throws IOException {
+        GameEngine engine = new GameEngine(loadContext(7L));
+        ArrayList<Player> players = new ArrayList<>();
+        players.add(new Player("Bot1", new BotOrderSource()));
+        players.add(new Player("Bot2", new BotOrderSource()));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(output));
+        int turns;
+        try {
+            turns = engine.runHeadless(players, 1000);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(1000, turns);
+        assertNull(engine.getWinner());
+        assertEquals("", output.toString());
+        for (Player player : players) {
+            assertTrue(player.getOrders().isEmpty());
+            assertTrue(player.getNoOfArmies() > 0);
+        }
+    }
+
+    @Test
+    void runHeadless_AttackingBotsConquerCountries() throws IOException {
+        int[] results = new int[2];
+        for (int run = 0; run < 2; run++) {
+            GameEngine engine = new GameEngine(loadContext(3L));
+            ArrayList<Player> players = new ArrayList<>();
+            players.add(new Player("Bot1", new BotOrderSource(true)));
+            players.add(new Player("Bot2", new BotOrderSource(true)));
+            boolean[] conquered = new boolean[1];
+            int[] initial = new int[1];
+            int turns = engine.runHeadless(players, 200, turn -> {
+                if (turn == 0) initial[0] = players.get(0).getOwnedCount();
+                else if (players.get(0).getOwnedCount() != initial[0]) conquered[0] = true;
+            });
+            assertTrue(conquered[0]);
+            int countries = engine.getContext().getMap().getCountries().size();
+            assertEquals(countries, players.get(0).getOwnedCount() + players.get(1).getOwnedCount());
+            for (Country country : engine.getContext().getMap().getCountries()) {
+                assertTrue(country.getOwner().owns(country));
+            }
+            results[run] = turns * 1000 + players.get(0).getOwnedCount();
+        }
+        assertEquals(results[0], results[1]);
+    }
+
+    @Test
+    void runHeadless_ScriptedPlayersFollowTheirScript() throws IOException {
+        GameEngine engine = new GameEngine(loadContext(1L));
+        ArrayList<Player> players = new ArrayList<>();
+        // countries are assigned at random, so the scripts target the first country each player gets
+        Player first = new Player("First", scriptOnFirstCountry("showarmies", "deploy %d 2", "endturn"));
+        Player second = new Player("Second", scriptOnFirstCountry("deploy %d 3"));
+        players.add(first);
+        players.add(second);
+
+        ArrayList<Integer> turns = new ArrayList<>();
+        assertEquals(1, engine.runHeadless(players, 1, turns::add));
+        assertEquals(List.of(0, 1), turns);
+        Country country1 = first.getOwnedCountries().get(0);
+        Country country2 = second.getOwnedCountries().get(0);
+        assertTrue(first.owns(country1));
+        assertEquals(2, country1.getArmiesDeployed());
+        assertEquals(3, country2.getArmiesDeployed());
+    }
+
+    @Test
+    void runHeadless_SameSeedAssignsSameCountries() throws IOException {
+        ArrayList<List<Integer>> assignments = new ArrayList<>();
+        for (long seed : new long[]{9L, 9L, 10L}) {
+            GameEngine engine = new GameEngine(loadContext(seed));
+            ArrayList<Player> players = new ArrayList<>();
+            players.add(new Player("Bot1", new BotOrderSource()));
+            players.add(new Player("Bot2", new BotOrderSource()));
+            engine.runHeadless(players, 0);
+            ArrayList<Integer> owned = new ArrayList<>();
+            for (Country country : players.get(0).getOwnedCountries()) {
+                owned.add(country.getID());
+            }
+            assertEquals(engine.getContext().getMap().getCountries().size() / 2, owned.size());
+            assignments.add(owned);
+        }
+        assertEquals(assignments.get(0), assignments.get(1));
+        assertNotEquals(assignments.get(0), assignments.get(2));
+    }
+
+    @Test
+    void recover_FromCheckpointRebuildsTheGame(@TempDir Path tempDir) throws IOException {
+        File journalFile = tempDir.resolve("game.journal").toFile();
+        String expected = playJournaledGame(journalFile, 3, 7);
+        assertTrue(tempDir.resolve("game.journal.6.snap").toFile().exists());
+        assertFalse(tempDir.resolve("game.journal.3.snap").toFile().exists());
+
+        GameEngine recovered = GameEngine.recover(journalFile);
+        assertEquals(6, recovered.getTurn());
+        assertEquals(1, recovered.playTurns(1));
+        assertEquals(expected, describe(recovered.getContext()));
+        recovered.getJournal().close();
+    }
+
+    @Test
+    void recover_WithoutCheckpointReplaysTheWholeGame(@TempDir Path tempDir) throws IOException {
+        File journalFile = tempDir.resolve("game.journal").toFile();
+        String expected = playJournaledGame(journalFile, 100, 4);
+
+        GameEngine recovered = GameEngine.recover(journalFile);
+        assertEquals(GamePhase.ISSUE_ORDERS, recovered.getCurrentPhase());
+        assertEquals(0, recovered.getTurn());
+        assertEquals(4, recovered.playTurns(4));
+        assertEquals(expected, describe(recovered.getContext()));
+        recovered.getJournal().close();
+    }
+
+    private String playJournaledGame(File p_journalFile, int p_checkpointInterval, int p_turns) throws IOException {
+        GameEngine engine = new GameEngine(new GameContext(new Map(), 17L));
+        engine.startJournal(new CommandJournal(p_journalFile, CommandJournal.DEFAULT_SYNC_INTERVAL));
+        engine.setCheckpointInterval(p_checkpointInterval);
+        for (String command : List.of("loadmap europass.map", "proceed", "gameplayer -add Bot1", "gameplayer -add Bot2", "startgame")) {
+            engine.executeSetupCommand(command);
+        }
+        assertEquals(GamePhase.ISSUE_ORDERS, engine.getCurrentPhase());
+        engine.getContext().setQuiet(true);
+        ArrayList<Player> players = engine.getContext().getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).setOrderSource(new JournalingOrderSource(new BotOrderSource(true), engine.getJournal(), i));
+        }
+        assertEquals(p_turns, engine.playTurns(p_turns));
+        // the process dies here: the journal is not closed
+        engine.getJournal().sync();
+        return describe(engine.getContext());
+    }
+
+    private String describe(GameContext p_context) {
+        StringBuilder description = new StringBuilder();
+        for (Player player : p_context.getPlayers()) {
+            description.append(player.getName()).append(' ').append(player.getNoOfArmies()).append(':');
+            for (Country country : player.getOwnedCountries()) {
+                description.append(' ').append(country.getID()).append('=').append(country.getArmiesDeployed());
+            }
+            description.append('\n');
+        }
+        return description.append(p_context.getRandom().nextLong()).toString();
+    }
+
+    private OrderSource scriptOnFirstCountry(String... p_commands) {
+        ScriptedOrderSource[] script = new ScriptedOrderSource[1];
+        return (p_player, p_context) -> {
+            if (script[0] == null) {
+                int countryID = p_player.getOwnedCountries().get(0).getID();
+                ArrayList<String> commands = new ArrayList<>();
+                for (String command : p_commands) {
+                    commands.add(String.format(command, countryID));
+                }
+                script[0] = new ScriptedOrderSource(commands);
+            }
+            return script[0].nextCommand(p_player, p_context);
+        };
+    }
+
+    private GameContext loadContext(long p_seed) throws IOException {
+        GameContext context = new GameContext(new Map(), p_seed);
+        new MapEditor(context).loadMap(new File(FileAdapter.BASE_PATH + "europass.map"));
+        return context;
+    }
+}
@@ -1,12 +1,23 @@
 package controllers.MapEditor;
 
+import adapters.FileAdapter.FileAdapter;
+import models.Country.Country;
+import models.Enums.MapLoadMode;
+import models.GameContext.GameContext;
 import models.Map.Map;
+import models.Map.MapValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,4 +35,158 @@ public class MapEditorTest {
     @Test
     void loadMap() {
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadMap_MappedMatchesBuffered() throws IOException {
+        File file = new File(FileAdapter.BASE_PATH + "europass.map");
+        Map buffered = loadWithMode(file, MapLoadMode.BUFFERED);
+        Map mapped = loadWithMode(file, MapLoadMode.MAPPED);
+
+        assertEquals(buffered.getContinents().size(), mapped.getContinents().size());
+        assertEquals(buffered.getCountries().size(), mapped.getCountries().size());
+        for (int i = 0; i < buffered.getContinents().size(); i++) {
+            assertEquals(buffered.getContinents().get(i).getName(), mapped.getContinents().get(i).getName());
+            assertEquals(buffered.getContinents().get(i).getArmyBonus(), mapped.getContinents().get(i).getArmyBonus());
+        }
+        for (int i = 0; i < buffered.getCountries().size(); i++) {
+            Country expected = buffered.getCountries().get(i);
+            Country actual = mapped.getCountries().get(i);
+            assertEquals(expected.getID(), actual.getID());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getContinentID(), actual.getContinentID());
+            assertEquals(expected.getNeighbours().size(), actual.getNeighbours().size());
+            for (int j = 0; j < expected.getNeighbours().size(); j++) {
+                assertEquals(expected.getNeighbours().get(j).getID(), actual.getNeighbours().get(j).getID());
+            }
+        }
+    }
+
+    @Test
+    void loadMap_FileDoesNotExist() {
+        mapEditor.setLoadMode(MapLoadMode.MAPPED);
+        assertThrows(FileNotFoundException.class, () -> mapEditor.loadMap(new File(FileAdapter.BASE_PATH + "missing.map")));
+    }
+
+    @Test
+    void loadMap_BordersBeforeCountries(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("reordered.map");
+        Files.writeString(file, "[continents]\nAsia 5\n\n[borders]\n1 2\n2 1\n\n[countries]\n1 India 1\n2 Nepal 1\n");
+        for (MapLoadMode mode : new MapLoadMode[]{MapLoadMode.BUFFERED, MapLoadMode.MAPPED}) {
+            Map loaded = loadWithMode(file.toFile(), mode);
+            assertEquals(2, loaded.getCountryByID(1).getNeighbours().get(0).getID());
+            assertEquals(1, loaded.getCountryByID(2).getNeighbours().get(0).getID());
+        }
+    }
+
+    @Test
+    void loadMap_CompressedMatchesPlain(@TempDir Path tempDir) throws IOException {
+        File file = new File(FileAdapter.BASE_PATH + "europass.map");
+        File compressed = tempDir.resolve("europass.map.gz").toFile();
+        try (GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(compressed))) {
+            out.write(Files.readAllBytes(file.toPath()));
+        }
+        assertTrue(FileAdapter.isCompressedFile(compressed));
+        assertFalse(FileAdapter.isCompressedFile(file));
+        assertSameMap(loadWithMode(file, MapLoadMode.BUFFERED), loadWithMode(compressed, MapLoadMode.AUTO));
+    }
+
+    @Test
+    void saveMapCompressed_RoundTrip(@TempDir Path tempDir) throws IOException {
+        // canada.map only has ASCII names, which survive the text format in any default charset
+        Map plain = loadWithMode(new File(FileAdapter.BASE_PATH + "canada.map"), MapLoadMode.BUFFERED);
+        for (boolean binary : new boolean[]{false, true}) {
+            File compressed = tempDir.resolve(binary ? "canada.wzm.gz" : "canada.map.gz").toFile();
+            mapEditor.saveMapCompressed(compressed, plain, binary);
+            assertTrue(FileAdapter.isCompressedFile(compressed));
+            assertSameMap(plain, loadWithMode(compressed, MapLoadMode.AUTO));
+        }
+    }
+
+    @Test
+    void validateMap_FollowsEdits() {
+        mapEditor.setMapInRegistry("edited", map);
+        mapEditor.setCurrentEditingFilename("edited");
+        assertFalse(mapEditor.validateCurrentMap());
+
+        mapEditor.addContinent("Asia", "3");
+        mapEditor.addContinent("Europe", "2");
+        assertFalse(mapEditor.validateCurrentMap());
+        mapEditor.addCountry("India", "Asia");
+        mapEditor.addCountry("Nepal", "Asia");
+        mapEditor.addCountry("France", "Europe");
+        assertFalse(mapEditor.validateCurrentMap());
+
+        mapEditor.addNeighbor("India", "Nepal");
+        mapEditor.addNeighbor("Nepal", "India");
+        mapEditor.addNeighbor("Nepal", "France");
+        mapEditor.addNeighbor("France", "Nepal");
+        assertTrue(mapEditor.validateCurrentMap());
+        assertEquals(MapValidator.validateMap(map), mapEditor.validateCurrentMap());
+
+        mapEditor.removeNeighbor("India", "Nepal");
+        assertFalse(mapEditor.validateCurrentMap());
+        mapEditor.addNeighbor("India", "Nepal");
+        assertTrue(mapEditor.validateCurrentMap());
+
+        mapEditor.addCountry("Spain", "Europe");
+        assertFalse(mapEditor.validateCurrentMap());
+        mapEditor.removeCountry("Spain");
+        assertTrue(mapEditor.validateCurrentMap());
+
+        mapEditor.removeCountry("France");
+        assertFalse(mapEditor.validateCurrentMap());
+        assertTrue(map.getCountryByName("Nepal").getNeighbours().stream().noneMatch(c -> c.getName().equals("France")));
+        mapEditor.removeContinent("Europe");
+        assertTrue(mapEditor.validateCurrentMap());
+        assertEquals(MapValidator.validateMap(map), mapEditor.validateCurrentMap());
+    }
+
+    @Test
+    void removeContinent_FreesCountriesOfContinent(@TempDir Path tempDir) throws IOException {
+        mapEditor.setMapInRegistry("edited", map);
+        mapEditor.setCurrentEditingFilename("edited");
+        mapEditor.addContinent("A", "1");
+        mapEditor.addContinent("B", "1");
+        mapEditor.addCountry("a1", "A");
+        mapEditor.addCountry("a2", "A");
+        mapEditor.addCountry("b1", "B");
+        mapEditor.addNeighbor("a1", "a2");
+        mapEditor.addNeighbor("a2", "a1");
+        mapEditor.addNeighbor("a1", "b1");
+        mapEditor.addNeighbor("b1", "a1");
+        Country b1 = map.getCountryByName("b1");
+
+        mapEditor.removeContinent("B");
+        assertFalse(map.containsCountry(b1));
+        assertEquals(-1, b1.getIndex());
+        assertEquals(1, map.getCountryByName("a1").getNeighbours().size());
+        assertTrue(MapValidator.validateMap(map));
+        assertEquals(MapValidator.validateMap(map), mapEditor.validateCurrentMap());
+
+        File binary = tempDir.resolve("edited.wzm").toFile();
+        mapEditor.saveMapBinary(binary, map);
+        assertSameMap(map, loadWithMode(binary, MapLoadMode.AUTO));
+    }
+
+    private void assertSameMap(Map p_expected, Map p_actual) {
+        assertEquals(p_expected.getContinents().size(), p_actual.getContinents().size());
+        assertEquals(p_expected.getCountries().size(), p_actual.getCountries().size());
+        for (int i = 0; i < p_expected.getCountries().size(); i++) {
+            Country l_expected = p_expected.getCountries().get(i);
+            Country l_actual = p_actual.getCountries().get(i);
+            assertEquals(l_expected.getID(), l_actual.getID());
+            assertEquals(l_expected.getName(), l_actual.getName());
+            assertEquals(l_expected.getNeighbours().size(), l_actual.getNeighbours().size());
+        }
+    }
+
+    private Map loadWithMode(File p_file, MapLoadMode p_mode) throws IOException {
+        Map l_map = new Map();
+        MapEditor l_mapEditor = new MapEditor(new GameContext(l_map));
+        l_mapEditor.setLoadMode(p_mode);
+        l_mapEditor.setMapCache(null);
+        l_mapEditor.loadMap(p_file);
+        assertNotNull(l_mapEditor.getLastLoadTimings());
+        return l_map;
+    }
+}
@@ -0,0 +1,74 @@
+package controllers.ReinforcementEngine;
+
+import models.Continent.Continent;
+import models.Country.Country;
+import models.Map.Map;
+import models.Player.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReinforcementEngineTest {
+    private Map map;
+    private Continent asia;
+    private Continent europe;
+    private Player first;
+    private Player second;
+
+    @BeforeEach
+    void setUp() {
+        map = new Map();
+        asia = new Continent("Asia", 5);
+        europe = new Continent("Europe", 2);
+        map.addContinent(asia);
+        map.addContinent(europe);
+        for (int i = 0; i < 3; i++) {
+            map.addCountry(new Country("Asia" + i, asia.getID()));
+        }
+        for (int i = 0; i < 2; i++) {
+            map.addCountry(new Country("Europe" + i, europe.getID()));
+        }
+        first = new Player("First");
+        second = new Player("Second");
+    }
+
+    @Test
+    void getReinforcements_AddsBonusOfControlledContinents() {
+        for (Country country : map.getCountries()) {
+            if (country.getContinentID() == asia.getID()) first.addOwnedCountry(country);
+        }
+        second.addOwnedCountry(map.getCountries().get(3));
+        ReinforcementEngine engine = new ReinforcementEngine(map, List.of(first, second));
+
+        assertTrue(engine.controlsContinent(first, asia.getID()));
+        assertEquals(3 + 5, engine.getReinforcements(first));
+        assertEquals(3, engine.getReinforcements(second));
+
+        second.addOwnedCountry(map.getCountries().get(4));
+        assertTrue(engine.controlsContinent(second, europe.getID()));
+        assertEquals(3 + 2, engine.getReinforcements(second));
+
+        // conquest takes the bonus from the previous owner
+        second.addOwnedCountry(map.getCountries().get(0));
+        assertFalse(engine.controlsContinent(first, asia.getID()));
+        assertEquals(3, engine.getReinforcements(first));
+        assertEquals(0, engine.getContinentBonus(first));
+
+        engine.assignReinforcements();
+        assertEquals(3, first.getNoOfArmies());
+        assertEquals(5, second.getNoOfArmies());
+    }
+
+    @Test
+    void detach_StopsCounting() {
+        ReinforcementEngine engine = new ReinforcementEngine(map, List.of(first, second));
+        engine.detach();
+        assertNull(first.getOwnershipListener());
+        first.addOwnedCountry(map.getCountries().get(3));
+        first.addOwnedCountry(map.getCountries().get(4));
+        assertFalse(engine.controlsContinent(first, europe.getID()));
+    }
+}
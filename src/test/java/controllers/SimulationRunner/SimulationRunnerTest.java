@@ -0,0 +1,65 @@
+package controllers.SimulationRunner;
+
+import adapters.FileAdapter.FileAdapter;
+import controllers.MapEditor.MapEditor;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import models.OrderSource.Bot.BotOrderSource;
+import models.OrderSource.OrderSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationRunnerTest {
+
+    @Test
+    void run_AggregatesEveryGame() throws IOException, InterruptedException {
+        Map map = loadMap();
+        List<Supplier<OrderSource>> strategies = List.of(BotOrderSource::new, BotOrderSource::new, BotOrderSource::new);
+        SimulationStats stats = new SimulationRunner(map, strategies, 4).run(12, 42L, 20);
+
+        assertEquals(12, stats.getGames());
+        assertEquals(12, stats.getUndecided() + stats.getWins(0) + stats.getWins(1) + stats.getWins(2));
+        assertEquals(12, stats.getGamesAtTurn(0));
+        double territory = 0;
+        for (int slot = 0; slot < 3; slot++) {
+            territory += stats.getAverageTerritory(0, slot);
+        }
+        assertEquals(map.getCountries().size(), territory, 1e-9);
+        assertEquals(0, stats.getGamesAtTurn(21));
+    }
+
+    @Test
+    void run_SameSeedGivesSameStatsWhateverTheThreads() throws IOException, InterruptedException {
+        Map map = loadMap();
+        List<Supplier<OrderSource>> strategies = List.of(BotOrderSource::new, BotOrderSource::new);
+
+        SimulationStats single = new SimulationRunner(map, strategies, 1).run(8, 7L, 30);
+        SimulationStats parallel = new SimulationRunner(map, strategies, 4).run(8, 7L, 30);
+
+        assertEquals(single.toString(), parallel.toString());
+        for (int turn = 0; turn <= 30; turn++) {
+            assertEquals(single.getGamesAtTurn(turn), parallel.getGamesAtTurn(turn));
+            for (int slot = 0; slot < 2; slot++) {
+                assertEquals(single.getAverageTerritory(turn, slot), parallel.getAverageTerritory(turn, slot));
+            }
+        }
+    }
+
+    @Test
+    void constructor_RejectsSinglePlayer() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulationRunner(new Map(), List.of(BotOrderSource::new), 1));
+    }
+
+    private Map loadMap() throws IOException {
+        Map map = new Map();
+        new MapEditor(new GameContext(map)).loadMap(new File(FileAdapter.BASE_PATH + "europass.map"));
+        return map;
+    }
+}
@@ -0,0 +1,38 @@
+package controllers.TurnScheduler;
+
+import models.Player.Player;
+import models.OrderSource.Scripted.ScriptedOrderSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TurnSchedulerTest {
+
+    @Test
+    void next_RoundRobinOverReadyPlayers() {
+        Player first = player("First");
+        Player second = player("Second");
+        Player third = player("Third");
+        second.setHasOrders(false);
+        TurnScheduler scheduler = new TurnScheduler(List.of(first, second, third), Player::hasOrders);
+        assertEquals(2, scheduler.size());
+
+        Player current = scheduler.next();
+        assertSame(first, current);
+        scheduler.requeue(current);
+        current = scheduler.next();
+        assertSame(third, current);
+        scheduler.retry(current);
+        assertSame(third, scheduler.next());
+        // third leaves the queue by not being requeued
+        assertSame(first, scheduler.next());
+        assertNull(scheduler.next());
+        assertTrue(scheduler.isEmpty());
+    }
+
+    private Player player(String p_name) {
+        return new Player(p_name, new ScriptedOrderSource(List.of()));
+    }
+}
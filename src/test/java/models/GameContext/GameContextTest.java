@@ -0,0 +1,33 @@
+package models.GameContext;
+
+import models.Country.Country;
+import models.Map.Map;
+import models.Order.Deploy.DeployOrder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameContextTest {
+
+    @Test
+    void getRandom_SameSeedSameDraws() {
+        GameContext first = new GameContext(new Map(), 42L);
+        GameContext second = new GameContext(new Map(), 42L);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first.getRandom().nextInt(1000), second.getRandom().nextInt(1000));
+        }
+        assertEquals(42L, first.getSeed());
+    }
+
+    @Test
+    void execute_OnlyChangesItsOwnGame() {
+        GameContext first = new GameContext(new Map());
+        GameContext second = new GameContext(new Map());
+        first.getMap().addCountry(new Country(1, "India", 1));
+        second.getMap().addCountry(new Country(1, "India", 1));
+
+        new DeployOrder(first.getMap().getCountryByID(1), 5).execute(first);
+        assertEquals(5, first.getMap().getCountryByID(1).getArmiesDeployed());
+        assertEquals(0, second.getMap().getCountryByID(1).getArmiesDeployed());
+    }
+}
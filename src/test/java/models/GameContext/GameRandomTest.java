@@ -0,0 +1,71 @@
+package models.GameContext;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRandomTest {
+
+    @Test
+    void nextLong_SameSeedSameStream() {
+        GameRandom first = new GameRandom(123L);
+        GameRandom second = new GameRandom(123L);
+        GameRandom other = new GameRandom(124L);
+        boolean differs = false;
+        for (int i = 0; i < 100; i++) {
+            long value = first.nextLong();
+            assertEquals(value, second.nextLong());
+            differs |= value != other.nextLong();
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    void nextInt_StaysInBoundAndCoversIt() {
+        GameRandom random = new GameRandom(1L);
+        int[] counts = new int[7];
+        for (int i = 0; i < 70000; i++) {
+            counts[random.nextInt(7)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 9000 && count < 11000, "count " + count);
+        }
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    void nextDouble_StaysInUnitInterval() {
+        GameRandom random = new GameRandom(2L);
+        double sum = 0;
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+            sum += value;
+        }
+        assertEquals(0.5, sum / 10000, 0.02);
+    }
+
+    @Test
+    void shuffle_IsAPermutationAndReproducible() {
+        List<Integer> first = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            first.add(i);
+        }
+        List<Integer> second = new ArrayList<>(first);
+        new GameRandom(3L).shuffle(first);
+        new GameRandom(3L).shuffle(second);
+        assertEquals(first, second);
+        assertEquals(50, first.stream().distinct().count());
+        assertNotEquals(second.stream().sorted().toList(), first);
+    }
+
+    @Test
+    void split_DrawsAnIndependentReproducibleStream() {
+        GameRandom first = new GameRandom(4L).split();
+        GameRandom second = new GameRandom(4L).split();
+        assertEquals(first.nextLong(), second.nextLong());
+    }
+}
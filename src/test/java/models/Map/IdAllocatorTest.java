@@ -0,0 +1,92 @@
+package models.Map;
+
+import models.Continent.Continent;
+import models.Country.Country;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdAllocatorTest {
+
+    @Test
+    void allocate_UniquePastThousand() {
+        IdAllocator allocator = new IdAllocator(1);
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(ids.add(allocator.allocate()));
+        }
+        assertTrue(allocator.isUsed(5000));
+        assertFalse(allocator.isUsed(5001));
+    }
+
+    @Test
+    void allocate_SkipsReservedAndReusesReleased() {
+        IdAllocator allocator = new IdAllocator(1);
+        assertTrue(allocator.reserve(2));
+        assertFalse(allocator.reserve(2));
+        assertEquals(1, allocator.allocate());
+        assertEquals(3, allocator.allocate());
+
+        allocator.release(1);
+        assertTrue(allocator.reserve(1));
+        allocator.release(3);
+        assertEquals(3, allocator.allocate());
+        assertEquals(4, allocator.allocate());
+    }
+
+    @Test
+    void addCountry_AssignsIDsPerMap() {
+        Map first = new Map();
+        Map second = new Map();
+        Continent continent1 = new Continent("Asia", 3);
+        Continent continent2 = new Continent("Europe", 2);
+        first.addContinent(continent1);
+        second.addContinent(continent2);
+        assertEquals(1, continent1.getID());
+        assertEquals(1, continent2.getID());
+
+        first.addCountry(new Country(2, "India", 1));
+        Country added = new Country("Nepal", 1);
+        first.addCountry(added);
+        assertEquals(1, added.getID());
+        Country next = new Country("Bhutan", 1);
+        first.addCountry(next);
+        assertEquals(3, next.getID());
+
+        first.removeCountry(added);
+        Country reused = new Country("China", 1);
+        first.addCountry(reused);
+        assertEquals(1, reused.getID());
+    }
+
+    @Test
+    void reserve_HugeIdDoesNotGrowBitset() {
+        IdAllocator allocator = new IdAllocator(1);
+        assertTrue(allocator.reserve(2_000_000_000));
+        assertFalse(allocator.reserve(2_000_000_000));
+        assertTrue(allocator.isUsed(2_000_000_000));
+        assertTrue(allocator.getBitsetLength() <= IdAllocator.BITSET_LIMIT / 64);
+        assertEquals(1, allocator.allocate());
+
+        allocator.release(2_000_000_000);
+        assertFalse(allocator.isUsed(2_000_000_000));
+        assertTrue(allocator.reserve(2_000_000_000));
+        allocator.clear();
+        assertFalse(allocator.isUsed(2_000_000_000));
+    }
+
+    @Test
+    void addCountry_HugeIdKeepsLookups() {
+        Map map = new Map();
+        Country huge = new Country(Integer.MAX_VALUE, "Huge", 1);
+        map.addCountry(huge);
+        map.reindex();
+        Country next = new Country("Next", 1);
+        map.addCountry(next);
+        assertEquals(1, next.getID());
+        assertSame(huge, map.getCountryByID(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,66 @@
+package models.Map;
+
+import models.Continent.Continent;
+import models.Country.Country;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapGraphTest {
+    private Map map;
+
+    @BeforeEach
+    void setUp() {
+        map = new Map();
+        Continent continent1 = new Continent("Continent1", 3);
+        Continent continent2 = new Continent("Continent2", 2);
+        continent1.setID(1);
+        continent2.setID(2);
+        map.addContinent(continent1);
+        map.addContinent(continent2);
+
+        Country country1 = new Country(10, "Country1", 2);
+        Country country2 = new Country(20, "Country2", 1);
+        Country country3 = new Country(30, "Country3", 2);
+        Country orphan = new Country(40, "Orphan", 9);
+        country1.addNeighbor(country2);
+        country1.addNeighbor(country3);
+        country2.addNeighbor(country1);
+        // neighbor outside of the map is not part of the snapshot
+        country3.addNeighbor(new Country(99, "Outside", 1));
+
+        map.addCountry(country1);
+        map.addCountry(country2);
+        map.addCountry(country3);
+        map.addCountry(orphan);
+    }
+
+    @Test
+    void adjacency() {
+        MapGraph graph = map.toGraph();
+
+        assertEquals(4, graph.getCountryCount());
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(10, graph.countryID(0));
+        assertEquals(2, graph.neighborEnd(0) - graph.neighborStart(0));
+        assertEquals(1, graph.neighborAt(graph.neighborStart(0)));
+        assertEquals(2, graph.neighborAt(graph.neighborStart(0) + 1));
+        assertEquals(0, graph.neighborEnd(2) - graph.neighborStart(2));
+    }
+
+    @Test
+    void continents() {
+        MapGraph graph = map.toGraph();
+
+        assertEquals(2, graph.getContinentCount());
+        assertEquals(1, graph.continentOf(0));
+        assertEquals(0, graph.continentOf(1));
+        assertEquals(-1, graph.continentOf(3));
+        assertEquals(1, graph.continentSize(0));
+        assertEquals(2, graph.continentSize(1));
+        assertEquals(0, graph.continentMember(1, 0));
+        assertEquals(2, graph.continentMember(1, 1));
+        assertEquals(2, graph.continentID(1));
+    }
+}
@@ -90,4 +90,82 @@ public class MapTest {
         assertEquals(0, continents.size());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCountryByName_AfterRemoval() {
+        Country country1 = new Country(1, "Country1", 1);
+        Country duplicate = new Country(2, "Country1", 1);
+        map.addCountry(country1);
+        map.addCountry(duplicate);
+
+        assertEquals(country1, map.getCountryByName("Country1"));
+        map.removeCountry(country1);
+        assertEquals(duplicate, map.getCountryByName("Country1"));
+        assertNull(map.getCountryByID(1));
+        map.removeCountry(duplicate);
+        assertNull(map.getCountryByName("Country1"));
+    }
+
+    @Test
+    void getContinentByID_AfterReindex() {
+        Continent continent = new Continent("Continent1", 5);
+        map.addContinent(continent);
+        continent.setID(42);
+        map.reindex();
+
+        assertEquals(continent, map.getContinentByID(42));
+        assertEquals(continent, map.getContinentByName("Continent1"));
+        map.removeContinent(continent);
+        assertNull(map.getContinentByID(42));
+        assertNull(map.getContinentByName("Continent1"));
+    }
+
+    @Test
+    void getCountryByIndex_ReusesFreedIndex() {
+        Country country1 = new Country(700, "Country1", 1);
+        Country country2 = new Country(12, "Country2", 1);
+        Country country3 = new Country(345, "Country3", 1);
+        map.addCountry(country1);
+        map.addCountry(country2);
+        assertEquals(0, country1.getIndex());
+        assertEquals(1, country2.getIndex());
+        assertSame(country2, map.getCountryByIndex(1));
+
+        map.removeCountry(country1);
+        assertEquals(-1, country1.getIndex());
+        assertFalse(map.containsCountry(country1));
+        assertNull(map.getCountryByIndex(0));
+
+        map.addCountry(country3);
+        assertEquals(0, country3.getIndex());
+        assertSame(country3, map.getCountryByIndex(0));
+        assertEquals(2, map.getIndexBound());
+        assertEquals(1, country2.getIndex());
+    }
+
+    @Test
+    void getCountryByID_RenumberedCountryNeedsReindex() {
+        Country country = new Country(5, "Country1", 1);
+        map.addCountry(country);
+        country.setID(6);
+
+        assertSame(country, map.getCountryByID(5));
+        assertNull(map.getCountryByID(6));
+        map.reindex();
+        assertNull(map.getCountryByID(5));
+        assertSame(country, map.getCountryByID(6));
+    }
+
+    @Test
+    void removeCountry_IgnoresCountryNotInMap() {
+        Country country = new Country(1, "Country1", 1);
+        Country other = new Country(1, "Country1", 1);
+        map.addCountry(country);
+        map.addCountry(country);
+        assertEquals(1, map.getCountries().size());
+
+        map.removeCountry(other);
+        assertSame(country, map.getCountryByID(1));
+        assertEquals(1, map.getCountries().size());
+    }
+}
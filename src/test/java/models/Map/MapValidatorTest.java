@@ -10,6 +10,7 @@ import models.Continent.Continent;
 import models.Country.Country;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 public class MapValidatorTest {
     private Map map;
@@ -56,6 +57,36 @@ public class MapValidatorTest {
         assertFalse(MapValidator.validateMap(map));
     }
 
+    @Test
+    void ValidMapLongChainContinent() {
+        map = createChainMap(200_000);
+        assertTrue(MapValidator.validateMap(map));
+    }
+
+    @Test
+    void ParallelMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertTrue(MapValidator.validateMap(createValidMap(), pool));
+            assertFalse(MapValidator.validateMap(createInvalidMapDisconnectedGraph(), pool));
+            assertFalse(MapValidator.validateMap(createInvalidMapDisconnectedSubgraphs(), pool));
+            assertFalse(MapValidator.validateMap(createInvalidMapDuplicateCountryName(), pool));
+            assertFalse(MapValidator.validateMap(createInvalidMapContinentWithoutAnyCountry(), pool));
+            assertTrue(MapValidator.validateMap(createChainMap(200_000), pool));
+
+            Map continents = createContinentChainsMap(200, 1000);
+            assertTrue(MapValidator.validateMap(continents, pool));
+            Country first = continents.getCountryByID(150_500);
+            Country second = continents.getCountryByID(150_501);
+            first.removeNeighbor(second);
+            second.removeNeighbor(first);
+            assertFalse(MapValidator.validateMap(continents, pool));
+            assertFalse(MapValidator.validateMap(continents));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 
     // Created different types of Demo maps for checking the validation logic of the map
     private Map createValidMap() {
@@ -236,5 +267,45 @@ public class MapValidatorTest {
         return map;
     }
 
+    private Map createChainMap(int p_length) {
+        Map map = new Map();
 
+        Continent continent1 = new Continent("Continent1", 3);
+        continent1.setID(1);
+        map.addContinent(continent1);
+
+        Country previous = null;
+        for (int i = 1; i <= p_length; i++) {
+            Country country = new Country(i, "Country" + i, 1);
+            if (previous != null) {
+                previous.addNeighbor(country);
+                country.addNeighbor(previous);
+            }
+            map.addCountry(country);
+            previous = country;
+        }
+
+        return map;
+    }
+
+    private Map createContinentChainsMap(int p_continents, int p_length) {
+        Map map = new Map();
+        Country previous = null;
+        for (int c = 1; c <= p_continents; c++) {
+            Continent continent = new Continent("Continent" + c, 1);
+            continent.setID(c);
+            map.addContinent(continent);
+            for (int i = 1; i <= p_length; i++) {
+                int id = (c - 1) * p_length + i;
+                Country country = new Country(id, "Country" + id, c);
+                if (previous != null) {
+                    previous.addNeighbor(country);
+                    country.addNeighbor(previous);
+                }
+                map.addCountry(country);
+                previous = country;
+            }
+        }
+        return map;
+    }
 }
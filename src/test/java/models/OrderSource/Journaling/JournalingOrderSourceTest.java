@@ -0,0 +1,69 @@
+package models.OrderSource.Journaling;
+
+import adapters.CommandJournal.CommandJournal;
+import adapters.FileAdapter.FileAdapter;
+import models.Country.Country;
+import models.GameContext.GameContext;
+import models.Map.Map;
+import models.OrderSource.Scripted.ScriptedOrderSource;
+import models.Player.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalingOrderSourceTest {
+
+    @Test
+    void issue_order_RecordsOnlyAcceptedCommands(@TempDir Path tempDir) throws IOException {
+        Map map = new Map();
+        Country country = new Country(1, "Country1", 1);
+        map.addCountry(country);
+        GameContext context = new GameContext(map, 3L);
+        context.setQuiet(true);
+        File file = tempDir.resolve("game.journal").toFile();
+        List<String> commands = List.of("deploy 1 -5", "deploy 1", "showmap", "showarmies", "savegame journaltest",
+                "bogus", "deploy 9 1", "deploy 1 2", "endturn");
+        File saveFile = FileAdapter.createSaveFile("journaltest");
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            Player player = new Player("Player1", new JournalingOrderSource(new ScriptedOrderSource(commands), journal, 0));
+            player.addOwnedCountry(country);
+            player.setNoOfArmies(3);
+            context.getPlayers().add(player);
+            for (int i = 0; i < commands.size(); i++) {
+                player.issue_order(context);
+            }
+            assertTrue(saveFile.exists());
+        } finally {
+            Files.deleteIfExists(saveFile.toPath());
+        }
+        // replaying savegame would overwrite the saved game
+        assertEquals(List.of("deploy 1 2", "endturn"), CommandJournal.read(file).getOrders(0, false));
+    }
+
+    @Test
+    void commandAccepted_ReachesJournalBehindScript(@TempDir Path tempDir) throws IOException {
+        Map map = new Map();
+        Country country = new Country(1, "Country1", 1);
+        map.addCountry(country);
+        GameContext context = new GameContext(map, 3L);
+        context.setQuiet(true);
+        File file = tempDir.resolve("game.journal").toFile();
+        try (CommandJournal journal = new CommandJournal(file, CommandJournal.DEFAULT_SYNC_INTERVAL)) {
+            JournalingOrderSource console = new JournalingOrderSource(new ScriptedOrderSource(List.of("deploy 1 1")), journal, 0);
+            Player player = new Player("Player1", new ScriptedOrderSource(List.of("deploy 1 2"), console));
+            player.addOwnedCountry(country);
+            player.setNoOfArmies(3);
+            player.issue_order(context);
+            player.issue_order(context);
+        }
+        // the replayed command is already in the journal; only the new one is recorded
+        assertEquals(List.of("deploy 1 1"), CommandJournal.read(file).getOrders(0, false));
+    }
+}
@@ -2,7 +2,10 @@ package models.Player;
 
 import models.Country.Country;
 import models.Map.Map;
-import models.MapHolder.MapHolder;
+import models.GameContext.GameContext;
+import models.Order.Advance.AdvanceOrder;
+import models.Order.Deploy.DeployOrder;
+import models.Order.Order;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,11 +25,12 @@ public class PlayerTest {
     private int noOfArmies;
     private ByteArrayOutputStream outContent1 = new ByteArrayOutputStream();
     private Map map ;
+    private GameContext context;
     @BeforeEach
     void setUp() {
         map = new Map();
         player = new Player("Player A");
-        MapHolder.setMap(map);
+        context = new GameContext(map);
         // Set up test data
         command = new String[]{"deploy", "1", "5"};
         countryID = Integer.parseInt(command[1]);
@@ -63,7 +68,7 @@ public class PlayerTest {
         //give player 5 armies.
         player.setNoOfArmies(5);
         // Invoke the method
-        player.createDeployOrder(command);
+        player.createDeployOrder(command, context);
 
         //1. when country does not exist.
         assertEquals(outContent1.toString(),"\nInvalid country ID. Country does not exist.\n");
@@ -77,7 +82,7 @@ public class PlayerTest {
         map.addCountry(country);
         player.setNoOfArmies(5);
         // Invoke the method
-        player.createDeployOrder(command);
+        player.createDeployOrder(command, context);
 
         assertEquals(outContent1.toString(),"\nCannot deploy armies to country " +countryID+". You do not own this country. Please select a country that you own to deploy your armies\n");
 
@@ -89,14 +94,119 @@ public class PlayerTest {
         Country country = new Country(countryID,"Country A",1);
         map.addCountry(country);
         // Invoke the method
-        player.createDeployOrder(command);
+        player.createDeployOrder(command, context);
 
         assertEquals(outContent1.toString(),"\nYou do not have enough armies.\n");
 
 
     }
+    @Test
+    void createDeployOrder_RejectsMalformedAndNonPositiveArmies() {
+        Country country = new Country(countryID, "Country A", 1);
+        map.addCountry(country);
+        player.addOwnedCountry(country);
+        player.setNoOfArmies(3);
+
+        for (String[] invalid : new String[][]{{"deploy", "1", "-5"}, {"deploy", "1", "0"}, {"deploy", "1"}, {"deploy", "1", "x"}}) {
+            player.createDeployOrder(invalid, context);
+            assertFalse(player.lastCommandValidForOrders());
+        }
+        assertEquals(3, player.getNoOfArmies());
+        assertTrue(player.getOrders().isEmpty());
+
+        player.createDeployOrder(new String[]{"deploy", "1", "2"}, context);
+        assertTrue(player.lastCommandValidForOrders());
+        assertEquals(1, player.getNoOfArmies());
+    }
+
+    @Test
+    void addOwnedCountry_TransfersOwnership() {
+        Player other = new Player("Player B");
+        Country first = new Country(1, "Country A", 1);
+        Country second = new Country(2, "Country B", 1);
+        Country third = new Country(3, "Country C", 1);
+        player.addOwnedCountry(first);
+        player.addOwnedCountry(second);
+        player.addOwnedCountry(third);
+        player.addOwnedCountry(first);
+        assertEquals(3, player.getOwnedCount());
+
+        other.addOwnedCountry(first);
+        assertSame(other, first.getOwner());
+        assertFalse(player.owns(first));
+        assertFalse(player.getOwnedCountrySet().contains(first));
+        assertTrue(other.getOwnedCountrySet().contains(first));
+        assertEquals(2, player.getOwnedCount());
+        for (int i = 0; i < player.getOwnedCount(); i++) {
+            assertEquals(i, player.getOwnedCountries().get(i).getOwnerSlot());
+        }
+
+        assertTrue(player.removeOwnedCountry(third));
+        assertFalse(player.removeOwnedCountry(third));
+        assertNull(third.getOwner());
+        assertEquals(List.of(second), player.getOwnedCountries());
+        assertThrows(UnsupportedOperationException.class, () -> player.getOwnedCountrySet().iterator().remove());
+    }
+
+    @Test
+    void createAdvanceOrder_ChecksOwnershipAndNeighbours() {
+        Country source = new Country(1, "Country A", 1);
+        Country neighbour = new Country(2, "Country B", 1);
+        Country distant = new Country(3, "Country C", 1);
+        map.addCountry(source);
+        map.addCountry(neighbour);
+        map.addCountry(distant);
+        source.addNeighbor(neighbour);
+        context.setQuiet(true);
+
+        player.createAdvanceOrder(new String[]{"advance", "1", "2", "3"}, context);
+        assertFalse(player.lastCommandValidForOrders());
+        player.addOwnedCountry(source);
+        player.createAdvanceOrder(new String[]{"advance", "1", "3", "3"}, context);
+        assertFalse(player.lastCommandValidForOrders());
+        player.createAdvanceOrder(new String[]{"advance", "1", "x", "3"}, context);
+        assertFalse(player.lastCommandValidForOrders());
+        assertTrue(player.getOrders().isEmpty());
+
+        player.createAdvanceOrder(new String[]{"advance", "1", "2", "3"}, context);
+        assertTrue(player.lastCommandValidForOrders());
+        AdvanceOrder order = (AdvanceOrder) player.next_order();
+        assertSame(source, order.getSourceCountry());
+        assertSame(neighbour, order.getTargetCountry());
+        assertEquals(3, order.getNoOfArmies());
+    }
+
     @Test
     void next_order() {
+        assertNull(player.next_order());
+        Order first = new DeployOrder(new Country(1, "Country A", 1), 2);
+        Order second = new DeployOrder(new Country(1, "Country A", 1), 3);
+        player.addOrder(first);
+        player.addOrder(second);
+
+        assertSame(first, player.peekOrder());
+        assertEquals(2, player.getOrders().size());
+        assertSame(first, player.next_order());
+        assertSame(second, player.next_order());
+        assertNull(player.peekOrder());
+    }
+
+    @Test
+    void drainOrders() {
+        Order[] orders = new Order[5];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new DeployOrder(new Country(1, "Country A", 1), i + 1);
+            player.addOrder(orders[i]);
+        }
+        ArrayList<Order> drained = new ArrayList<>();
+
+        assertEquals(2, player.drainOrders(drained, 2));
+        assertEquals(3, player.getOrders().size());
+        assertEquals(3, player.drainOrders(drained));
+        assertTrue(player.getOrders().isEmpty());
+        for (int i = 0; i < orders.length; i++) {
+            assertSame(orders[i], drained.get(i));
+        }
     }
 
     @AfterEach
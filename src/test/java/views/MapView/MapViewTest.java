@@ -3,7 +3,6 @@ package views.MapView;
 import models.Continent.Continent;
 import models.Country.Country;
 import models.Map.Map;
-import models.MapHolder.MapHolder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -28,7 +27,6 @@ public class MapViewTest {
 //    void testDisplayMapInformation() {
 //        // Mock the map object
 //        Map mockedMap = mock(Map.class);
-//        MapHolder.setMap(mockedMap);
 //        // Create sample countries and continents
 //        ArrayList<Country> countries = new ArrayList<>();
 //        Country country1 = new Country(1, "s1", 1);
@@ -49,7 +47,7 @@ public class MapViewTest {
 //        when(mockedMap.getContinents()).thenReturn(continents);
 //
 //        // Call the method to be tested
-//        MapView.displayMapInformation();
+//        MapView.displayMapInformation(mockedMap);
 //
 //        String expectedOutput = "Map Information:\n" +
 //                "_____________________________________________"+"\n"+